@@ -0,0 +1,186 @@
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Workloads of the JMH benchmarks (in jmh/benchmarks) of the search algorithms and the data structures they depend
+ * on.  JMH doesn't allow benchmarks in the default package, and classes in a named package can't refer to the
+ * classes of the default package, so the workloads are built here and looked up reflectively by the benchmarks.
+ * This class is only compiled by the jmh profile: mvn -P jmh package, then java -jar target/benchmarks.jar.
+ *
+ * The search workloads (bfs, uniformCostSearch, dfs, iterativeDeepeningSearch, AStarSearch) run over
+ * seeded SimpleGraphs of several sizes and densities (average out-degrees), cycling through a fixed set of
+ * seeded start and goal pairs, so every run does the same work.  The micro workloads are offer and poll on each
+ * of the frontier priority queues (PQ, DaryPQ of arity 2, 4 and 8, and BucketPQ), uniform cost search with each
+ * FrontierType, and expanding SimpleGraphSearchStates with getSuccessors and with successorIterator.  The chain
+ * workloads run path checking dfs and depthLimitedDFS (tree search mode) on a chain, where the path grows as long
+ * as the graph.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class SearchBenchmark {
+
+	static final long SEED = 42;
+	static final int PROBLEMS = 8;
+	// priority values of the queue workload are in [0, KEY_RANGE), so BucketPQ needs KEY_RANGE buckets
+	static final int KEY_RANGE = 1000;
+
+	/*
+	 * SearchNode with an explicitly set priority value.
+	 */
+	static class KeyNode extends SearchNode {
+		private final int key;
+		KeyNode(State state, int key) {
+			super(state);
+			this.key = key;
+		}
+		int getKey() {
+			return key;
+		}
+	}
+
+	/*
+	 * Offers every node, then offers the lowered nodes (a decrease-key when a lowered node's priority value is lower
+	 * than that of the node with the same State), then polls until empty.
+	 */
+	private static long offerPoll(Queue<KeyNode> q, KeyNode[] initial, KeyNode[] lowered) {
+		long check = 0;
+		for (KeyNode n : initial) q.offer(n);
+		for (KeyNode n : lowered) q.offer(n);
+		while (!q.isEmpty()) check += q.poll().getKey();
+		return check;
+	}
+
+	/*
+	 * An empty queue of one of the kinds compared by the queue workload.
+	 */
+	private static Queue<KeyNode> queue(String kind) {
+		switch (kind) {
+		case "PQ": return new PQ<KeyNode>(Comparator.comparingInt(KeyNode::getKey));
+		case "DaryPQ2": return new DaryPQ<KeyNode>(KeyNode::getKey, 2);
+		case "DaryPQ4": return new DaryPQ<KeyNode>(KeyNode::getKey, 4);
+		case "DaryPQ8": return new DaryPQ<KeyNode>(KeyNode::getKey, 8);
+		case "BucketPQ": return new BucketPQ<KeyNode>(KeyNode::getKey, KEY_RANGE);
+		default: throw new IllegalArgumentException("Unknown queue: " + kind);
+		}
+	}
+
+	/*
+	 * Seeded random graph with the given number of nodes and average out-degree.
+	 */
+	private static Graph graph(int numNodes, int degree, long seed) {
+		return new SimpleGraph(numNodes, (double)degree / numNodes, false, seed);
+	}
+
+	/*
+	 * Chain 0, 1, ..., numNodes-1 with edges in both directions, so that every node after the first has a successor
+	 * that is already on the path.
+	 */
+	private static Graph chainGraph(int numNodes) {
+		int m = 2 * (numNodes - 1);
+		int[] from = new int[m];
+		int[] to = new int[m];
+		int[] cost = new int[m];
+		for (int i = 0; i < numNodes - 1; i++) {
+			from[2*i] = i;
+			to[2*i] = i + 1;
+			from[2*i+1] = i + 1;
+			to[2*i+1] = i;
+			cost[2*i] = cost[2*i+1] = 1;
+		}
+		return CSRGraph.fromEdges(numNodes, m, from, to, cost);
+	}
+
+	/*
+	 * Seeded random problems on a graph.
+	 */
+	private static SearchProblem[] problems(Graph g, long seed) {
+		Random gen = new Random(seed);
+		SearchProblem[] problems = new SearchProblem[PROBLEMS];
+		for (int i = 0; i < PROBLEMS; i++) {
+			problems[i] = new SimpleGraphSearchProblem(g, gen.nextInt(g.getNumNodes()), gen.nextInt(g.getNumNodes()));
+		}
+		return problems;
+	}
+
+	private static long length(SearchNode solution) {
+		return (solution == null) ? -1 : solution.getG();
+	}
+
+	/**
+	 * Gets the workload of a benchmark.  The operation with argument i runs the i-th operation of the benchmark,
+	 * and returns something computed from its result, so the work can't be optimized away.
+	 *
+	 * @param name The benchmark: bfs, uniformCostSearch, dfs, iterativeDeepeningSearch, AStarSearch (over the seeded
+	 * 				problems of a seeded random graph), uniformCostSearch.F for a FrontierType F (uniform cost search
+	 * 				with that frontier), Q.offerPoll for a queue Q of PQ, DaryPQ2, DaryPQ4, DaryPQ8 or BucketPQ
+	 * 				(numNodes offers, numNodes/2 more offers that may decrease keys, and numNodes polls), getSuccessors
+	 * 				or successorIterator (expanding a state of a seeded random graph), dfs.chain or
+	 * 				depthLimitedDFS.chain (tree search from one end of a chain to the other).
+	 * @param numNodes The number of nodes of the graph (the number of queue entries for Q.offerPoll).
+	 * @param degree The average out-degree of the graph (not used by Q.offerPoll).
+	 * @return the operation
+	 */
+	public static IntToLongFunction workload(String name, int numNodes, int degree) {
+		Random gen = new Random(SEED);
+		if (name.endsWith(".offerPoll")) {
+			String kind = name.substring(0, name.length() - ".offerPoll".length());
+			queue(kind); // fails here, not in the benchmark, on an unknown queue
+			Graph g = graph(Math.max(numNodes, 2), 4, SEED);
+			KeyNode[] initial = new KeyNode[numNodes];
+			KeyNode[] lowered = new KeyNode[numNodes / 2];
+			for (int i = 0; i < initial.length; i++) {
+				initial[i] = new KeyNode(new SimpleGraphSearchState(g, 0, 0, i), gen.nextInt(KEY_RANGE));
+			}
+			for (int i = 0; i < lowered.length; i++) {
+				lowered[i] = new KeyNode(initial[gen.nextInt(initial.length)].getState(), gen.nextInt(KEY_RANGE));
+			}
+			return i -> offerPoll(queue(kind), initial, lowered);
+		}
+		if (name.startsWith("uniformCostSearch.")) {
+			FrontierType type = FrontierType.valueOf(name.substring("uniformCostSearch.".length()));
+			SearchProblem[] problems = problems(graph(numNodes, degree, SEED), SEED + 1);
+			return i -> length(problems[i % PROBLEMS].uniformCostSearch(type));
+		}
+		if (name.endsWith(".chain")) {
+			SimpleGraphSearchProblem chain = new SimpleGraphSearchProblem(chainGraph(numNodes), 0, numNodes - 1);
+			chain.setSearchMode(SearchMode.TREE_SEARCH);
+			switch (name) {
+			case "dfs.chain": return i -> length(chain.dfs());
+			case "depthLimitedDFS.chain": return i -> length(chain.depthLimitedDFS(numNodes));
+			default: throw new IllegalArgumentException("Unknown benchmark: " + name);
+			}
+		}
+		switch (name) {
+		case "getSuccessors":
+		case "successorIterator": {
+			Graph g = graph(numNodes, degree, SEED);
+			SimpleGraphSearchState[] states = new SimpleGraphSearchState[4096];
+			for (int i = 0; i < states.length; i++) {
+				states[i] = new SimpleGraphSearchState(g, 0, 0, gen.nextInt(numNodes));
+			}
+			if (name.equals("getSuccessors")) return i -> states[i & 4095].getSuccessors().size();
+			return i -> {
+				long count = 0;
+				for (Iterator<State> it = states[i & 4095].successorIterator(); it.hasNext(); ) count += it.next().getIndex();
+				return count;
+			};
+		}
+		default: {
+			SearchProblem[] problems = problems(graph(numNodes, degree, SEED), SEED + 1);
+			HeuristicFunction zero = s -> 0;
+			switch (name) {
+			case "bfs": return i -> length(problems[i % PROBLEMS].bfs());
+			case "uniformCostSearch": return i -> length(problems[i % PROBLEMS].uniformCostSearch());
+			case "dfs": return i -> length(problems[i % PROBLEMS].dfs());
+			case "iterativeDeepeningSearch": return i -> length(problems[i % PROBLEMS].iterativeDeepeningSearch());
+			case "AStarSearch": return i -> length(problems[i % PROBLEMS].AStarSearch(zero));
+			default: throw new IllegalArgumentException("Unknown benchmark: " + name);
+			}
+		}
+		}
+	}
+}
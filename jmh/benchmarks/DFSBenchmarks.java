@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of path checking dfs and depthLimitedDFS (tree search mode) on chains of several lengths, where the
+ * path grows as long as the graph.  With constant time path checking the time should grow linearly with the length.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DFSBenchmarks {
+
+	@Param({ "1000", "4000", "16000", "64000" })
+	public int length;
+
+	private IntToLongFunction dfs;
+	private IntToLongFunction depthLimitedDFS;
+	private int i;
+
+	@Setup
+	public void setup() {
+		dfs = Workloads.get("dfs.chain", length, 0);
+		depthLimitedDFS = Workloads.get("depthLimitedDFS.chain", length, 0);
+	}
+
+	@Benchmark
+	public long dfs() {
+		return dfs.applyAsLong(i++);
+	}
+
+	@Benchmark
+	public long depthLimitedDFS() {
+		return depthLimitedDFS.applyAsLong(i++);
+	}
+}
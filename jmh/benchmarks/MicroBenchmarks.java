@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH micro benchmarks of what the searches spend their time on: offer, decrease-key and poll on each of the frontier
+ * priority queues (PQ, DaryPQ of arity 2, 4 and 8, and BucketPQ), uniform cost search with each FrontierType, and
+ * expanding SimpleGraphSearchStates of a seeded graph with getSuccessors and with successorIterator.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MicroBenchmarks {
+
+	@State(Scope.Benchmark)
+	public static class Queue {
+		@Param({ "PQ", "DaryPQ2", "DaryPQ4", "DaryPQ8", "BucketPQ" })
+		public String queue;
+
+		@Param({ "10000" })
+		public int size;
+
+		IntToLongFunction offerPoll;
+		int i;
+
+		@Setup
+		public void setup() {
+			offerPoll = Workloads.get(queue + ".offerPoll", size, 0);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Frontier {
+		@Param({ "BINARY_HEAP", "DARY_HEAP", "BUCKET_QUEUE" })
+		public String frontier;
+
+		IntToLongFunction uniformCostSearch;
+		int i;
+
+		@Setup
+		public void setup() {
+			uniformCostSearch = Workloads.get("uniformCostSearch." + frontier, 100000, 4);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Expansion {
+		@Param({ "4", "16" })
+		public int degree;
+
+		IntToLongFunction getSuccessors;
+		IntToLongFunction successorIterator;
+		int i;
+
+		@Setup
+		public void setup() {
+			getSuccessors = Workloads.get("getSuccessors", 100000, degree);
+			successorIterator = Workloads.get("successorIterator", 100000, degree);
+		}
+	}
+
+	@Benchmark
+	public long offerPoll(Queue q) {
+		return q.offerPoll.applyAsLong(q.i++);
+	}
+
+	@Benchmark
+	public long uniformCostSearch(Frontier f) {
+		return f.uniformCostSearch.applyAsLong(f.i++);
+	}
+
+	@Benchmark
+	public long getSuccessors(Expansion e) {
+		return e.getSuccessors.applyAsLong(e.i++);
+	}
+
+	@Benchmark
+	public long successorIterator(Expansion e) {
+		return e.successorIterator.applyAsLong(e.i++);
+	}
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the search algorithms over seeded SimpleGraphs of several sizes and densities (average
+ * out-degrees).  Each operation solves the next of a fixed set of seeded problems, so every run does the same work.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmarks {
+
+	@Param({ "bfs", "uniformCostSearch", "dfs", "iterativeDeepeningSearch", "AStarSearch" })
+	public String algorithm;
+
+	@Param({ "1000", "10000", "100000" })
+	public int numNodes;
+
+	@Param({ "4", "16" })
+	public int degree;
+
+	private IntToLongFunction search;
+	private int i;
+
+	@Setup
+	public void setup() {
+		search = Workloads.get(algorithm, numNodes, degree);
+	}
+
+	@Benchmark
+	public long search() {
+		return search.applyAsLong(i++);
+	}
+}
@@ -0,0 +1,35 @@
+package benchmarks;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Access to the workloads of SearchBenchmark.  JMH doesn't allow benchmarks in the default package, and classes in
+ * a named package can't refer to the classes of the default package, so the workloads are looked up reflectively,
+ * once per trial.  The operations themselves are called directly.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+final class Workloads {
+
+	private Workloads() {
+	}
+
+	/**
+	 * Gets the workload of a benchmark (see SearchBenchmark.workload).
+	 *
+	 * @param name The benchmark.
+	 * @param numNodes The number of nodes of the graph.
+	 * @param degree The average out-degree of the graph.
+	 * @return the operation
+	 */
+	static IntToLongFunction get(String name, int numNodes, int degree) {
+		try {
+			return (IntToLongFunction)Class.forName("SearchBenchmark")
+					.getMethod("workload", String.class, int.class, int.class)
+					.invoke(null, name, numNodes, degree);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Can't get the workload of " + name, e);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solves batches of independent search problems in parallel, on a fixed pool of threads.
+ *
+ * Each problem is solved by one thread, with its own SearchStatistics, so the statistics of each
+ * problem are exact regardless of what else is running.  (The deprecated shared counter in State
+ * still counts expansions over all threads.)  The same SearchProblem may appear in a batch more than once.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class BatchSolver implements AutoCloseable {
+
+	private final ExecutorService pool;
+
+	/**
+	 * Constructs a batch solver with one thread per available processor.
+	 */
+	public BatchSolver() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a batch solver.
+	 *
+	 * @param numThreads The number of threads.
+	 */
+	public BatchSolver(int numThreads) {
+		if (numThreads < 1) throw new IllegalArgumentException("Must have at least 1 thread.");
+		// numbered, so that thread dumps and profiles can tell the threads apart
+		AtomicInteger threadNumber = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(numThreads, r -> {
+			Thread t = new Thread(r, "batch-solver-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Solves every problem in a batch with the same algorithm.
+	 *
+	 * @param problems The search problems.
+	 * @param algorithm The search algorithm.
+	 * @return The results, in the same order as problems.
+	 */
+	public List<SearchResult> solve(List<? extends SearchProblem> problems, SearchAlgorithm algorithm) {
+		ArrayList<Future<SearchResult>> futures = new ArrayList<Future<SearchResult>>(problems.size());
+		for (SearchProblem problem : problems) {
+			futures.add(pool.submit(() -> solve(problem, algorithm)));
+		}
+		ArrayList<SearchResult> results = new ArrayList<SearchResult>(problems.size());
+		try {
+			for (Future<SearchResult> f : futures) {
+				results.add(f.get());
+			}
+		} catch (InterruptedException e) {
+			for (Future<SearchResult> f : futures) f.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while solving batch.", e);
+		} catch (ExecutionException e) {
+			for (Future<SearchResult> f : futures) f.cancel(true);
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException)e.getCause();
+			if (e.getCause() instanceof Error) throw (Error)e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * Solves one problem on the calling thread.
+	 *
+	 * @param problem The search problem.
+	 * @param algorithm The search algorithm.
+	 * @return The result.
+	 */
+	public static SearchResult solve(SearchProblem problem, SearchAlgorithm algorithm) {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		SearchStatistics stats = new SearchStatistics();
+		long start = bean.getCurrentThreadCpuTime();
+		SearchNode solution = algorithm.search(problem, stats);
+		return new SearchResult(solution, stats, bean.getCurrentThreadCpuTime() - start);
+	}
+
+	/**
+	 * Shuts down the threads.  Problems already submitted are finished first.
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,183 @@
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Monotone bucket queue of SearchNodes with small integer priority values (Dial's algorithm).
+ *
+ * There is one bucket per priority value, in a circular array that covers the range from the current
+ * lowest priority value to that plus the maximum edge cost.  Offering and polling take amortized
+ * constant time, rather than the logarithmic time of a heap.  The queue is monotone: no SearchNode may be
+ * offered with priority value lower than the last one polled.  This holds for uniform cost search (edge costs
+ * are positive) and for A* search with a consistent heuristic.
+ *
+ * Like PQ, if a SearchNode is offered whose State is already in the queue, the one with the lower priority
+ * value is kept.  The replaced SearchNode is left in its bucket and skipped when reached.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class BucketPQ<E extends SearchNode> extends AbstractQueue<E> {
+
+	private ArrayList<E>[] buckets;
+	private int mask;
+	private int current;
+	private int highest;
+	private int lastPolled;
+	private HashMap<State,E> queued;
+	private ToIntFunction<? super E> priority;
+
+	/**
+	 * Constructor must be supplied with a function that gives the priority value
+	 * of queue elements, and the maximum difference between the priority values of
+	 * elements in the queue at the same time (for uniform cost search, this is the maximum
+	 * edge cost).  If a larger difference occurs the queue is enlarged, which takes time
+	 * proportional to its size.
+	 *
+	 * @param priority Function giving the priority value of a SearchNode (lower values come out first).
+	 * @param maxSpread The maximum difference between priority values in the queue.
+	 */
+	public BucketPQ(ToIntFunction<? super E> priority, int maxSpread) {
+		if (maxSpread < 0) throw new IllegalArgumentException("Spread must be non-negative.");
+		this.priority = priority;
+		queued = new HashMap<State,E>();
+		buckets = newBuckets(maxSpread + 1);
+		mask = buckets.length - 1;
+		lastPolled = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Adds a SearchNode to the priority queue provided either: (a) the PQ doesn't contain
+	 * another SearchNode containing the same State, or (b) the PQ does contain a
+	 * SearchNode containing the same State, but the new one has lower priority value.
+	 * In the latter case, the existing SearchNode is replaced by the new one.
+	 *
+	 * @param e The SearchNode
+	 * @return true if the new SearchNode was added, or false if it was not added due to existing SearchNode
+	 * containing same State but with lower or equal priority value.
+	 * @throws IllegalArgumentException if the priority value of e is lower than that of the last SearchNode polled
+	 */
+	@Override
+	public boolean offer(E e) {
+		int p = priority.applyAsInt(e);
+		E existing = queued.get(e.getState());
+		if (existing != null && priority.applyAsInt(existing) <= p) {
+			return false;
+		}
+		if (p < lastPolled) {
+			throw new IllegalArgumentException("BucketPQ requires monotone priority values.");
+		}
+		if (queued.isEmpty()) {
+			current = highest = p;
+		} else {
+			// current can only be above p if nothing has been polled since the queue was last empty
+			if (p < current) current = p;
+			if (p > highest) highest = p;
+		}
+		if (highest - current > mask) {
+			resize(highest - current + 1);
+		}
+		bucket(p).add(e);
+		queued.put(e.getState(), e);
+		return true;
+	}
+
+	/**
+	 * Accesses the top of the PQ.  Does not change the PQ
+	 * @return The SearchNode with lowest priority value.  Returns null if empty.
+	 */
+	@Override
+	public E peek() {
+		if (queued.isEmpty()) return null;
+		ArrayList<E> b = advance();
+		return b.get(b.size()-1);
+	}
+
+	/**
+	 * Accesses and removes the top of the PQ.
+	 * @return The SearchNode with lowest priority value.  Returns null if empty.
+	 */
+	@Override
+	public E poll() {
+		if (queued.isEmpty()) return null;
+		ArrayList<E> b = advance();
+		E top = b.remove(b.size()-1);
+		queued.remove(top.getState());
+		lastPolled = current;
+		return top;
+	}
+
+	/**
+	 * Returns an iterator for the PQ.  The elements are iterated over in an arbitrary order.
+	 * The iterator does not support removal.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		final Iterator<E> it = queued.values().iterator();
+		return new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public E next() {
+				return it.next();
+			}
+		};
+	}
+
+	/**
+	 * Gets the number of elements in this PQ.
+	 * @return number of elements in the PQ.
+	 */
+	@Override
+	public int size() {
+		return queued.size();
+	}
+
+	/*
+	 * Moves current to the lowest priority value with a bucket that contains a SearchNode that is still in the queue,
+	 * discarding replaced SearchNodes along the way.  The queue must not be empty.
+	 */
+	private ArrayList<E> advance() {
+		while (true) {
+			ArrayList<E> b = bucket(current);
+			while (!b.isEmpty()) {
+				E top = b.get(b.size()-1);
+				if (queued.get(top.getState()) == top) return b;
+				b.remove(b.size()-1);
+			}
+			current++;
+		}
+	}
+
+	private ArrayList<E> bucket(int p) {
+		ArrayList<E> b = buckets[p & mask];
+		if (b == null) {
+			b = new ArrayList<E>();
+			buckets[p & mask] = b;
+		}
+		return b;
+	}
+
+	/*
+	 * Enlarges the circular array of buckets so that it covers at least the given number of priority values.
+	 * Only SearchNodes still in the queue are kept.
+	 */
+	private void resize(int spread) {
+		buckets = newBuckets(spread);
+		mask = buckets.length - 1;
+		for (E e : queued.values()) {
+			bucket(priority.applyAsInt(e)).add(e);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <E> ArrayList<E>[] newBuckets(int spread) {
+		int n = Integer.highestOneBit(Math.max(1, spread - 1)) << 1;
+		return (ArrayList<E>[])new ArrayList[n];
+	}
+}
@@ -0,0 +1,196 @@
+import java.util.Arrays;
+
+/**
+ * A directed graph stored in compressed sparse row (CSR) form.
+ *
+ * The out-edges of node i occupy positions offsets[i] through offsets[i+1]-1 of the
+ * targets and costs arrays, sorted by target.  Memory is proportional to the number of
+ * edges rather than the square of the number of nodes, and the neighbors of a node are
+ * contiguous in memory.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class CSRGraph implements Graph {
+
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] costs;
+	private volatile Graph reverse;
+
+	/**
+	 * Constructs a graph from CSR arrays.  The arrays are used directly (not copied).
+	 *
+	 * @param offsets Array of length numNodes+1, such that the out-edges of node i are at
+	 * 						positions offsets[i] through offsets[i+1]-1 of targets and costs.
+	 * @param targets The target node of each edge.  Must be sorted in increasing order within each node's range.
+	 * @param costs The cost of each edge.  All costs must be positive.
+	 */
+	public CSRGraph(int[] offsets, int[] targets, int[] costs) {
+		if (offsets.length < 2) throw new IllegalArgumentException("Must have at least 1 node!");
+		if (targets.length != costs.length || offsets[offsets.length-1] != targets.length) {
+			throw new IllegalArgumentException("Inconsistent CSR arrays.");
+		}
+		this.offsets = offsets;
+		this.targets = targets;
+		this.costs = costs;
+	}
+
+	/**
+	 * Constructs a graph from a list of edges.  Edges may be given in any order.  If the same edge
+	 * is listed more than once, the least cost is kept.
+	 *
+	 * @param numNodes The number of nodes.
+	 * @param numEdges The number of edges in the arrays (the arrays may be longer).
+	 * @param from The source node of each edge.
+	 * @param to The target node of each edge.
+	 * @param cost The cost of each edge.  All costs must be positive.
+	 * @return the graph
+	 */
+	public static CSRGraph fromEdges(int numNodes, int numEdges, int[] from, int[] to, int[] cost) {
+		if (numNodes < 1) throw new IllegalArgumentException("Must have at least 1 node!");
+
+		// Two stable counting sort passes (by target, then by source) give edges grouped by source
+		// and sorted by target within each group.
+		int[] byTarget = countingSort(numNodes, numEdges, to, null);
+		int[] order = countingSort(numNodes, numEdges, from, byTarget);
+
+		int[] offsets = new int[numNodes+1];
+		int[] targets = new int[numEdges];
+		int[] costs = new int[numEdges];
+		int m = 0;
+		int prevFrom = -1;
+		for (int k = 0; k < numEdges; k++) {
+			int e = order[k];
+			if (cost[e] <= 0) throw new IllegalArgumentException("Edge costs must be positive.");
+			if (from[e] == prevFrom && to[e] == targets[m-1]) {
+				if (cost[e] < costs[m-1]) costs[m-1] = cost[e];
+			} else {
+				targets[m] = to[e];
+				costs[m] = cost[e];
+				offsets[from[e]+1]++;
+				m++;
+				prevFrom = from[e];
+			}
+		}
+		for (int i = 0; i < numNodes; i++) {
+			offsets[i+1] += offsets[i];
+		}
+		if (m < numEdges) {
+			targets = Arrays.copyOf(targets, m);
+			costs = Arrays.copyOf(costs, m);
+		}
+		return new CSRGraph(offsets, targets, costs);
+	}
+
+	/**
+	 * Constructs the reverse of a graph, i.e., the graph with every edge reversed, so that
+	 * the out-edges of a node in the reverse graph are its in-edges in the original graph.
+	 *
+	 * @param graph The graph.
+	 * @return the reverse graph
+	 */
+	public static CSRGraph reverse(Graph graph) {
+		int n = graph.getNumNodes();
+		int[] offsets = new int[n+1];
+		for (int i = 0; i < n; i++) {
+			int degree = graph.getOutDegree(i);
+			for (int k = 0; k < degree; k++) {
+				offsets[graph.getNeighbor(i, k)+1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			offsets[i+1] += offsets[i];
+		}
+		// Sources are visited in increasing order, so each reversed row comes out sorted.
+		int[] fill = Arrays.copyOf(offsets, n);
+		int[] targets = new int[offsets[n]];
+		int[] costs = new int[offsets[n]];
+		for (int i = 0; i < n; i++) {
+			int degree = graph.getOutDegree(i);
+			for (int k = 0; k < degree; k++) {
+				int e = fill[graph.getNeighbor(i, k)]++;
+				targets[e] = i;
+				costs[e] = graph.getNeighborCost(i, k);
+			}
+		}
+		return new CSRGraph(offsets, targets, costs);
+	}
+
+	/*
+	 * Stable counting sort of edge indexes by key.  If order is null, sorts 0..numEdges-1,
+	 * otherwise sorts the edge indexes in order.
+	 */
+	private static int[] countingSort(int numNodes, int numEdges, int[] key, int[] order) {
+		int[] count = new int[numNodes+1];
+		for (int k = 0; k < numEdges; k++) {
+			int v = key[k];
+			if (v < 0 || v >= numNodes) throw new IllegalArgumentException("Node id out of range: " + v);
+			count[v+1]++;
+		}
+		for (int i = 0; i < numNodes; i++) {
+			count[i+1] += count[i];
+		}
+		int[] sorted = new int[numEdges];
+		for (int k = 0; k < numEdges; k++) {
+			int e = order == null ? k : order[k];
+			sorted[count[key[e]]++] = e;
+		}
+		return sorted;
+	}
+
+	@Override
+	public int getNumNodes() {
+		return offsets.length - 1;
+	}
+
+	@Override
+	public int getNumEdges() {
+		return targets.length;
+	}
+
+	@Override
+	public boolean isEdge(int i, int j) {
+		return find(i, j) >= 0;
+	}
+
+	@Override
+	public int cost(int nodeID, int nodeID2) {
+		int e = find(nodeID, nodeID2);
+		if (e < 0) throw new IllegalArgumentException("No edge exists for given nodes.");
+		return costs[e];
+	}
+
+	@Override
+	public int getOutDegree(int nodeID) {
+		return offsets[nodeID+1] - offsets[nodeID];
+	}
+
+	@Override
+	public int getNeighbor(int nodeID, int k) {
+		return targets[offsets[nodeID] + k];
+	}
+
+	@Override
+	public int getNeighborCost(int nodeID, int k) {
+		return costs[offsets[nodeID] + k];
+	}
+
+	@Override
+	public Graph getReverse() {
+		if (reverse == null) {
+			CSRGraph r = reverse(this);
+			r.reverse = this;
+			reverse = r;
+		}
+		return reverse;
+	}
+
+	/*
+	 * Binary search of the out-edges of i for j.  Returns the edge position or a negative value if not found.
+	 */
+	private int find(int i, int j) {
+		int e = Arrays.binarySearch(targets, offsets[i], offsets[i+1], j);
+		return e >= 0 ? e : -1;
+	}
+}
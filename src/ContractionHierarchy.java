@@ -0,0 +1,571 @@
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchy of a graph, for answering many shortest path queries on the same (unchanging) graph.
+ *
+ * Preprocessing contracts the nodes one at a time, in order of importance (least important first).  Contracting
+ * a node removes it from the graph, adding a shortcut edge u -> w (through the node) for each pair of
+ * remaining neighbors u -> node -> w, unless a local search finds another path from u to w that is no more costly
+ * (a witness).  The rank of a node is the position at which it was contracted.  Every least cost path of the
+ * graph then corresponds to a path of the graph plus shortcuts that only goes up in rank and then only down.
+ *
+ * On graphs without much hierarchy (e.g., random graphs, unlike road networks), contracting the last nodes adds
+ * more and more shortcuts, so contraction stops once the remaining graph gets too dense.  The nodes left are the
+ * core: they are ranked above all contracted nodes, and every edge between them counts as going up.
+ *
+ * A query is a bidirectional Dijkstra search that only follows edges to higher ranked nodes: forward from the
+ * start, and backward from the goal.  Both searches stay small, since few nodes are above any given node
+ * (and the core, if any, is small), so queries settle far fewer nodes than a search of the whole graph.  The shortcuts along the path
+ * found are then unpacked into the original edges, and the path is returned as a chain of SearchNodes
+ * containing SimpleGraphSearchStates, as the searches of SearchProblem and GraphSearchEngine do.
+ *
+ * The arrays used by queries are allocated once, so a hierarchy is not thread safe.  Use one per thread.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class ContractionHierarchy {
+
+	private static final int INFINITY = Integer.MAX_VALUE;
+	// number of nodes a witness search may settle; a larger limit finds more witnesses (fewer shortcuts) more slowly
+	private static final int WITNESS_LIMIT = 50;
+	private static final double DEFAULT_CORE_DEGREE = 32;
+
+	private final Graph graph;
+	private final int[] rank;
+	private final int numShortcuts;
+	private final int coreSize;
+
+	// upward edges v -> w (rank[w] > rank[v]) at positions upOffsets[v] to upOffsets[v+1]-1, sorted by w;
+	// the middle node is the node a shortcut goes through, or -1 for an edge of the graph
+	private final int[] upOffsets;
+	private final int[] upTargets;
+	private final int[] upCosts;
+	private final int[] upMiddles;
+	// downward edges w -> v (rank[w] > rank[v]), stored at v, sorted by w
+	private final int[] downOffsets;
+	private final int[] downSources;
+	private final int[] downCosts;
+	private final int[] downMiddles;
+
+	// query state, reused by every query
+	private final int[] forwardDist;
+	private final int[] backwardDist;
+	private final int[] forwardParent;
+	private final int[] backwardParent;
+	private final int[] forwardMiddle;
+	private final int[] backwardMiddle;
+	private final IndexedIntHeap forwardHeap;
+	private final IndexedIntHeap backwardHeap;
+	private final int[] touched;
+	private int numTouched;
+	private int[] path;
+	private int[] stack;
+	private long numSettledNodes;
+
+	/**
+	 * Preprocesses a graph, leaving a core when the remaining graph has an average out-degree of more than 32.
+	 *
+	 * @param graph The graph.
+	 */
+	public ContractionHierarchy(Graph graph) {
+		this(graph, DEFAULT_CORE_DEGREE);
+	}
+
+	/**
+	 * Preprocesses a graph.
+	 *
+	 * @param graph The graph.
+	 * @param maxCoreDegree Contraction stops when the average out-degree of the remaining graph (the core)
+	 * 						is more than this.  Use Double.POSITIVE_INFINITY to contract every node.
+	 */
+	public ContractionHierarchy(Graph graph, double maxCoreDegree) {
+		this.graph = graph;
+		int N = graph.getNumNodes();
+		Contractor c = new Contractor(graph, maxCoreDegree);
+		c.contractAll();
+		rank = c.rank;
+		numShortcuts = c.numShortcuts;
+		coreSize = c.coreSize;
+
+		upOffsets = new int[N+1];
+		downOffsets = new int[N+1];
+		for (int v = 0; v < N; v++) {
+			upOffsets[v+1] = upOffsets[v] + c.up[v].size;
+			downOffsets[v+1] = downOffsets[v] + c.down[v].size;
+		}
+		upTargets = new int[upOffsets[N]];
+		upCosts = new int[upTargets.length];
+		upMiddles = new int[upTargets.length];
+		downSources = new int[downOffsets[N]];
+		downCosts = new int[downSources.length];
+		downMiddles = new int[downSources.length];
+		for (int v = 0; v < N; v++) {
+			c.up[v].copySorted(upTargets, upCosts, upMiddles, upOffsets[v]);
+			c.down[v].copySorted(downSources, downCosts, downMiddles, downOffsets[v]);
+		}
+
+		forwardDist = new int[N];
+		backwardDist = new int[N];
+		Arrays.fill(forwardDist, INFINITY);
+		Arrays.fill(backwardDist, INFINITY);
+		forwardParent = new int[N];
+		backwardParent = new int[N];
+		forwardMiddle = new int[N];
+		backwardMiddle = new int[N];
+		forwardHeap = new IndexedIntHeap(N, 4);
+		backwardHeap = new IndexedIntHeap(N, 4);
+		touched = new int[2*N];
+		path = new int[64];
+		stack = new int[64];
+	}
+
+	/**
+	 * Gets the graph.
+	 *
+	 * @return the graph
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Gets the number of shortcut edges added by preprocessing.
+	 *
+	 * @return the number of shortcuts
+	 */
+	public int getNumShortcuts() {
+		return numShortcuts;
+	}
+
+	/**
+	 * Gets the number of nodes left uncontracted, in the core.
+	 *
+	 * @return the size of the core
+	 */
+	public int getCoreSize() {
+		return coreSize;
+	}
+
+	/**
+	 * Gets the rank of a node, i.e., the position at which it was contracted.
+	 *
+	 * @param nodeID The node id.
+	 * @return the rank, from 0 (contracted first) to getNumNodes()-1
+	 */
+	public int getRank(int nodeID) {
+		return rank[nodeID];
+	}
+
+	/**
+	 * Gets the number of nodes settled by the most recent query (both directions).
+	 *
+	 * @return Number of settled nodes.
+	 */
+	public long getNumSettledNodes() {
+		return numSettledNodes;
+	}
+
+	/**
+	 * Finds a least cost path.
+	 *
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 * @return A SearchNode containing the goal state, such that following the backpointers gives the
+	 * path from the start.  Returns null if the goal can't be reached.
+	 */
+	public SearchNode query(int start, int goal) {
+		reset();
+		if (start == goal) return GraphSearchEngine.toSearchNodes(graph, start, goal, new int[] { start });
+
+		forwardDist[start] = 0;
+		backwardDist[goal] = 0;
+		touched[numTouched++] = start;
+		touched[numTouched++] = goal;
+		forwardHeap.offer(start, 0);
+		backwardHeap.offer(goal, 0);
+		int best = INFINITY;
+		int meet = -1;
+
+		// each direction stops once its next node is at least as costly as the best path found
+		while (true) {
+			boolean forward = !forwardHeap.isEmpty() && forwardHeap.peekPriority() < best;
+			boolean backward = !backwardHeap.isEmpty() && backwardHeap.peekPriority() < best;
+			if (!forward && !backward) break;
+			if (forward && (!backward || forwardHeap.peekPriority() <= backwardHeap.peekPriority())) {
+				int u = forwardHeap.poll();
+				numSettledNodes++;
+				int du = forwardDist[u];
+				if (backwardDist[u] != INFINITY && du + backwardDist[u] < best) {
+					best = du + backwardDist[u];
+					meet = u;
+				}
+				if (stalled(downOffsets, downSources, downCosts, forwardDist, u)) continue;
+				for (int e = upOffsets[u]; e < upOffsets[u+1]; e++) {
+					int w = upTargets[e];
+					int dw = du + upCosts[e];
+					if (dw < forwardDist[w]) {
+						if (forwardDist[w] == INFINITY) touched[numTouched++] = w;
+						forwardDist[w] = dw;
+						forwardParent[w] = u;
+						forwardMiddle[w] = upMiddles[e];
+						forwardHeap.offer(w, dw);
+					}
+				}
+			} else {
+				int u = backwardHeap.poll();
+				numSettledNodes++;
+				int du = backwardDist[u];
+				if (forwardDist[u] != INFINITY && du + forwardDist[u] < best) {
+					best = du + forwardDist[u];
+					meet = u;
+				}
+				if (stalled(upOffsets, upTargets, upCosts, backwardDist, u)) continue;
+				for (int e = downOffsets[u]; e < downOffsets[u+1]; e++) {
+					int w = downSources[e];
+					int dw = du + downCosts[e];
+					if (dw < backwardDist[w]) {
+						if (backwardDist[w] == INFINITY) touched[numTouched++] = w;
+						backwardDist[w] = dw;
+						backwardParent[w] = u;
+						backwardMiddle[w] = downMiddles[e];
+						backwardHeap.offer(w, dw);
+					}
+				}
+			}
+		}
+		if (meet < 0) return null;
+
+		// the up part of the path, from the start to meet, is found backwards from meet
+		int numUp = 0;
+		for (int v = meet; v != start; v = forwardParent[v]) numUp++;
+		int[] upPath = new int[numUp+1];
+		int v = meet;
+		for (int i = numUp; i > 0; i--) {
+			upPath[i] = v;
+			v = forwardParent[v];
+		}
+		upPath[0] = start;
+
+		int length = 0;
+		path[length++] = start;
+		for (int i = 1; i <= numUp; i++) {
+			length = unpack(upPath[i-1], upPath[i], forwardMiddle[upPath[i]], length);
+		}
+		for (v = meet; v != goal; v = backwardParent[v]) {
+			length = unpack(v, backwardParent[v], backwardMiddle[v], length);
+		}
+		return GraphSearchEngine.toSearchNodes(graph, start, goal, Arrays.copyOf(path, length));
+	}
+
+	/*
+	 * Stall on demand: u doesn't need to be expanded if the search reached it more cheaply through an edge
+	 * from a higher ranked node (which the search can't follow), since then its path isn't a least cost path.
+	 * The edges of u from higher ranked nodes are given by offsets, neighbors and costs.
+	 */
+	private static boolean stalled(int[] offsets, int[] neighbors, int[] costs, int[] dist, int u) {
+		int du = dist[u];
+		for (int e = offsets[u]; e < offsets[u+1]; e++) {
+			int dw = dist[neighbors[e]];
+			if (dw != INFINITY && dw + costs[e] < du) return true;
+		}
+		return false;
+	}
+
+	/*
+	 * Appends the nodes after u of the edge u -> w (unpacked into edges of the graph, if it's a shortcut) to path,
+	 * which has length nodes, and returns the new length.
+	 */
+	private int unpack(int u, int w, int middle, int length) {
+		int top = 0;
+		stack = push(stack, top, u, w, middle);
+		top += 3;
+		while (top > 0) {
+			top -= 3;
+			int x = stack[top];
+			int y = stack[top+1];
+			int m = stack[top+2];
+			if (m < 0) {
+				if (length == path.length) path = Arrays.copyOf(path, 2 * length);
+				path[length++] = y;
+			} else {
+				// m was contracted before x and y, so x -> m is a downward edge and m -> y an upward edge of m;
+				// the second half is pushed first, so the first half is unpacked first
+				stack = push(stack, top, m, y, upMiddles[find(upOffsets, upTargets, m, y)]);
+				top += 3;
+				stack = push(stack, top, x, m, downMiddles[find(downOffsets, downSources, m, x)]);
+				top += 3;
+			}
+		}
+		return length;
+	}
+
+	private static int[] push(int[] stack, int top, int x, int y, int middle) {
+		if (top + 3 > stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+		stack[top] = x;
+		stack[top+1] = y;
+		stack[top+2] = middle;
+		return stack;
+	}
+
+	/*
+	 * Position of the edge between v and w in the CSR arrays offsets and neighbors, at v.
+	 */
+	private static int find(int[] offsets, int[] neighbors, int v, int w) {
+		return Arrays.binarySearch(neighbors, offsets[v], offsets[v+1], w);
+	}
+
+	/*
+	 * Clears the results of the previous query.
+	 */
+	private void reset() {
+		for (int i = 0; i < numTouched; i++) {
+			forwardDist[touched[i]] = INFINITY;
+			backwardDist[touched[i]] = INFINITY;
+		}
+		numTouched = 0;
+		forwardHeap.clear();
+		backwardHeap.clear();
+		numSettledNodes = 0;
+	}
+
+	/*
+	 * Edges of one node during preprocessing: neighbor, cost and middle node, at most one edge per neighbor.
+	 */
+	private static final class EdgeList {
+		int[] neighbors = new int[4];
+		int[] costs = new int[4];
+		int[] middles = new int[4];
+		int size;
+
+		int indexOf(int neighbor) {
+			for (int i = 0; i < size; i++) {
+				if (neighbors[i] == neighbor) return i;
+			}
+			return -1;
+		}
+
+		/*
+		 * Adds an edge, or lowers the cost of the edge to neighbor.  Returns false if there already is an edge at least as cheap.
+		 */
+		boolean put(int neighbor, int cost, int middle) {
+			int i = indexOf(neighbor);
+			if (i < 0) {
+				if (size == neighbors.length) {
+					neighbors = Arrays.copyOf(neighbors, 2 * size);
+					costs = Arrays.copyOf(costs, 2 * size);
+					middles = Arrays.copyOf(middles, 2 * size);
+				}
+				i = size++;
+			} else if (costs[i] <= cost) {
+				return false;
+			}
+			neighbors[i] = neighbor;
+			costs[i] = cost;
+			middles[i] = middle;
+			return true;
+		}
+
+		void remove(int neighbor) {
+			int i = indexOf(neighbor);
+			if (i >= 0) {
+				size--;
+				neighbors[i] = neighbors[size];
+				costs[i] = costs[size];
+				middles[i] = middles[size];
+			}
+		}
+
+		/*
+		 * Copies the edges, sorted by neighbor, into CSR arrays starting at position from.
+		 */
+		void copySorted(int[] n, int[] c, int[] m, int from) {
+			long[] order = new long[size];
+			for (int i = 0; i < size; i++) order[i] = ((long)neighbors[i] << 32) | i;
+			Arrays.sort(order);
+			for (int k = 0; k < size; k++) {
+				int i = (int)order[k];
+				n[from + k] = neighbors[i];
+				c[from + k] = costs[i];
+				m[from + k] = middles[i];
+			}
+		}
+	}
+
+	/*
+	 * The preprocessing: the graph of the nodes not yet contracted (with shortcuts), and the upward and
+	 * downward edges of the contracted nodes.
+	 */
+	private static final class Contractor {
+		final int N;
+		final EdgeList[] out;
+		final EdgeList[] in;
+		final EdgeList[] up;
+		final EdgeList[] down;
+		final int[] contractedNeighbors;
+		final int[] level;
+		final int[] rank;
+		final double maxCoreDegree;
+		long numRemainingEdges;
+		int numShortcuts;
+		int coreSize;
+
+		// witness search state
+		final int[] dist;
+		final int[] reached;
+		int numReached;
+		final boolean[] isTarget;
+		final IndexedIntHeap heap;
+
+		Contractor(Graph graph, double maxCoreDegree) {
+			N = graph.getNumNodes();
+			this.maxCoreDegree = maxCoreDegree;
+			out = new EdgeList[N];
+			in = new EdgeList[N];
+			up = new EdgeList[N];
+			down = new EdgeList[N];
+			for (int v = 0; v < N; v++) {
+				out[v] = new EdgeList();
+				in[v] = new EdgeList();
+			}
+			for (int v = 0; v < N; v++) {
+				int degree = graph.getOutDegree(v);
+				for (int k = 0; k < degree; k++) {
+					int w = graph.getNeighbor(v, k);
+					if (w == v) continue;
+					if (out[v].put(w, graph.getNeighborCost(v, k), -1)) in[w].put(v, graph.getNeighborCost(v, k), -1);
+				}
+			}
+			contractedNeighbors = new int[N];
+			level = new int[N];
+			rank = new int[N];
+			dist = new int[N];
+			Arrays.fill(dist, INFINITY);
+			reached = new int[N];
+			heap = new IndexedIntHeap(64, 4);
+			isTarget = new boolean[N];
+		}
+
+		/*
+		 * Contracts every node (up to the core), least important first.  The importance of a node is twice the
+		 * number of shortcuts contracting it would add minus the number of edges it would remove (the edge
+		 * difference), plus the number of its neighbors already contracted and twice its level (one more than the
+		 * highest level of a contracted neighbor); the last two spread contraction evenly over the graph, which
+		 * keeps the hierarchy shallow.  Importance is updated lazily: when a node comes out of the queue its
+		 * importance is recomputed, and if it is no longer the least important, it goes back into the queue.
+		 */
+		void contractAll() {
+			IndexedIntHeap queue = new IndexedIntHeap(N, 4);
+			for (int v = 0; v < N; v++) {
+				numRemainingEdges += out[v].size;
+				queue.offer(v, importance(v));
+			}
+			int next = 0;
+			while (!queue.isEmpty()) {
+				if (numRemainingEdges > maxCoreDegree * (N - next)) break;
+				int v = queue.poll();
+				int p = importance(v);
+				if (!queue.isEmpty() && p > queue.peekPriority()) {
+					queue.offer(v, p);
+					continue;
+				}
+				contract(v, true);
+				numRemainingEdges -= out[v].size + in[v].size;
+				rank[v] = next++;
+				up[v] = out[v];
+				down[v] = in[v];
+				for (int i = 0; i < out[v].size; i++) {
+					int w = out[v].neighbors[i];
+					in[w].remove(v);
+					contractedNeighbors[w]++;
+					level[w] = Math.max(level[w], level[v] + 1);
+				}
+				for (int i = 0; i < in[v].size; i++) {
+					int u = in[v].neighbors[i];
+					out[u].remove(v);
+					contractedNeighbors[u]++;
+					level[u] = Math.max(level[u], level[v] + 1);
+				}
+				out[v] = null;
+				in[v] = null;
+			}
+			// the rest is the core: ranked above the contracted nodes, and all of its edges are both upward and downward
+			coreSize = N - next;
+			while (!queue.isEmpty()) {
+				int v = queue.poll();
+				rank[v] = next++;
+				up[v] = out[v];
+				down[v] = in[v];
+			}
+		}
+
+		int importance(int v) {
+			return 2 * (contract(v, false) - in[v].size - out[v].size) + contractedNeighbors[v] + 2 * level[v];
+		}
+
+		/*
+		 * Finds the shortcuts needed to contract v, and adds them if add is true.  Returns the number of shortcuts.
+		 */
+		int contract(int v, boolean add) {
+			EdgeList vin = in[v];
+			EdgeList vout = out[v];
+			int count = 0;
+			for (int j = 0; j < vout.size; j++) isTarget[vout.neighbors[j]] = true;
+			for (int i = 0; i < vin.size; i++) {
+				int u = vin.neighbors[i];
+				int c1 = vin.costs[i];
+				int maxCost = 0;
+				for (int j = 0; j < vout.size; j++) {
+					if (vout.neighbors[j] != u) maxCost = Math.max(maxCost, c1 + vout.costs[j]);
+				}
+				if (maxCost == 0) continue;
+				witnessSearch(u, v, maxCost, vout.size - (isTarget[u] ? 1 : 0));
+				for (int j = 0; j < vout.size; j++) {
+					int w = vout.neighbors[j];
+					int cost = c1 + vout.costs[j];
+					if (w == u || dist[w] <= cost) continue;
+					count++;
+					if (add) {
+						int size = out[u].size;
+						if (out[u].put(w, cost, v)) in[w].put(u, cost, v);
+						numShortcuts += out[u].size - size;
+						numRemainingEdges += out[u].size - size;
+					}
+				}
+			}
+			for (int j = 0; j < vout.size; j++) isTarget[vout.neighbors[j]] = false;
+			return count;
+		}
+
+		/*
+		 * Dijkstra from u in the graph of nodes not yet contracted, without v, settling at most WITNESS_LIMIT
+		 * nodes and none costing more than maxCost, and stopping once the numTargets targets (other than u) are
+		 * settled.  Leaves the costs found in dist.
+		 */
+		void witnessSearch(int u, int v, int maxCost, int numTargets) {
+			for (int i = 0; i < numReached; i++) dist[reached[i]] = INFINITY;
+			numReached = 0;
+			heap.clear();
+			dist[u] = 0;
+			reached[numReached++] = u;
+			heap.offer(u, 0);
+			int settled = 0;
+			while (!heap.isEmpty() && heap.peekPriority() <= maxCost && settled < WITNESS_LIMIT) {
+				int x = heap.poll();
+				settled++;
+				if (isTarget[x] && x != u && --numTargets == 0) break;
+				EdgeList xout = out[x];
+				for (int j = 0; j < xout.size; j++) {
+					int y = xout.neighbors[j];
+					if (y == v) continue;
+					int dy = dist[x] + xout.costs[j];
+					if (dy < dist[y]) {
+						if (dist[y] == INFINITY) reached[numReached++] = y;
+						dist[y] = dy;
+						heap.offer(y, dy);
+					}
+				}
+			}
+		}
+	}
+}
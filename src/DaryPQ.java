@@ -0,0 +1,121 @@
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Priority queue of SearchNodes with integer priority values, backed by an IndexedIntHeap.
+ * Supports lowering priority value in logarithmic time, like PQ, but SearchNodes are located by the
+ * index of their State (see State.getIndex) rather than by hashing, and priority values are compared
+ * directly as ints rather than through a Comparator.  Only usable for States that have an index.
+ *
+ * Ties are broken differently than by PQ.  SearchNodes with equal priority values come out in an order that
+ * depends on the shape of the heap (and so on its arity), and offering a SearchNode with the same priority value
+ * as the queued SearchNode of the same State keeps the queued one, where PQ replaces it.  So a search that switches
+ * between PQ and DaryPQ (or between arities) may find a different solution of the same cost, with a different
+ * number of expanded States.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class DaryPQ<E extends SearchNode> extends AbstractQueue<E> {
+
+	private IndexedIntHeap heap;
+	private SearchNode[] nodes;
+	private ToIntFunction<? super E> priority;
+
+	/**
+	 * Constructor must be supplied with a function that gives the priority value
+	 * of queue elements.
+	 *
+	 * @param priority Function giving the priority value of a SearchNode (lower values come out first).
+	 * @param arity The number of children of each heap node: 2, 4 or 8.
+	 */
+	public DaryPQ(ToIntFunction<? super E> priority, int arity) {
+		heap = new IndexedIntHeap(16, arity);
+		nodes = new SearchNode[16];
+		this.priority = priority;
+	}
+
+	/**
+	 * Adds a SearchNode to the priority queue provided either: (a) the PQ doesn't contain
+	 * another SearchNode containing the same State, or (b) the PQ does contain a
+	 * SearchNode containing the same State, but the new one has lower priority value.
+	 * In the latter case, the existing SearchNode is replaced by the new one.
+	 *
+	 * @param e The SearchNode
+	 * @return true if the new SearchNode was added, or false if it was not added due to existing SearchNode
+	 * containing same State but with lower or equal priority value.
+	 */
+	@Override
+	public boolean offer(E e) {
+		int i = e.getState().getIndex();
+		if (i < 0) throw new IllegalArgumentException("DaryPQ requires States with an index.");
+		if (!heap.offer(i, priority.applyAsInt(e))) {
+			return false;
+		}
+		if (i >= nodes.length) {
+			nodes = Arrays.copyOf(nodes, Math.max(i + 1, 2 * nodes.length));
+		}
+		nodes[i] = e;
+		return true;
+	}
+
+	/**
+	 * Accesses the top of the PQ.  Does not change the PQ
+	 * @return The SearchNode with lowest priority value.  Returns null if empty.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		return heap.isEmpty() ? null : (E)nodes[heap.peek()];
+	}
+
+	/**
+	 * Accesses and removes the top of the PQ.
+	 * @return The SearchNode with lowest priority value.  Returns null if empty.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		if (heap.isEmpty()) return null;
+		int i = heap.poll();
+		E top = (E)nodes[i];
+		nodes[i] = null;
+		return top;
+	}
+
+	/**
+	 * Returns an iterator for the PQ.  The elements are iterated over in an arbitrary order.
+	 * The iterator does not support removal.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < heap.size();
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				return (E)nodes[heap.idAt(next++)];
+			}
+		};
+	}
+
+	/**
+	 * Gets the number of elements in this PQ.
+	 * @return number of elements in the PQ.
+	 */
+	@Override
+	public int size() {
+		return heap.size();
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * A directed graph stored as an adjacency matrix.  Memory is proportional to the
+ * square of the number of nodes, so this representation is only appropriate for small
+ * graphs that are fairly dense.  Use CSRGraph otherwise.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class DenseGraph implements Graph {
+
+	private final int[][] graph;
+	private final int[][] adjacent;
+	private final int numEdges;
+	private volatile Graph reverse;
+
+	/**
+	 * Constructs a graph from an adjacency matrix.  The matrix is used directly (not copied).
+	 *
+	 * @param graph A square matrix, where graph[i][j] is the cost of the edge from i to j, or 0 if there
+	 * 					is no such edge.
+	 */
+	public DenseGraph(int[][] graph) {
+		if (graph.length < 1) throw new IllegalArgumentException("Must have at least 1 node!");
+		this.graph = graph;
+		adjacent = new int[graph.length][];
+		int m = 0;
+		for (int i = 0; i < graph.length; i++) {
+			if (graph[i].length != graph.length) throw new IllegalArgumentException("Matrix must be square.");
+			int degree = 0;
+			for (int j = 0; j < graph.length; j++) {
+				if (graph[i][j] != 0) degree++;
+			}
+			adjacent[i] = new int[degree];
+			degree = 0;
+			for (int j = 0; j < graph.length; j++) {
+				if (graph[i][j] != 0) adjacent[i][degree++] = j;
+			}
+			m += degree;
+		}
+		numEdges = m;
+	}
+
+	/**
+	 * Constructs an adjacency matrix copy of another graph.
+	 *
+	 * @param other The graph to copy.
+	 */
+	public DenseGraph(Graph other) {
+		this(toMatrix(other));
+	}
+
+	private static int[][] toMatrix(Graph other) {
+		int n = other.getNumNodes();
+		int[][] matrix = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			int degree = other.getOutDegree(i);
+			for (int k = 0; k < degree; k++) {
+				matrix[i][other.getNeighbor(i, k)] = other.getNeighborCost(i, k);
+			}
+		}
+		return matrix;
+	}
+
+	@Override
+	public int getNumNodes() {
+		return graph.length;
+	}
+
+	@Override
+	public int getNumEdges() {
+		return numEdges;
+	}
+
+	@Override
+	public boolean isEdge(int i, int j) {
+		return graph[i][j] != 0;
+	}
+
+	@Override
+	public int cost(int nodeID, int nodeID2) {
+		if (graph[nodeID][nodeID2] == 0) throw new IllegalArgumentException("No edge exists for given nodes.");
+		return graph[nodeID][nodeID2];
+	}
+
+	@Override
+	public int getOutDegree(int nodeID) {
+		return adjacent[nodeID].length;
+	}
+
+	@Override
+	public int getNeighbor(int nodeID, int k) {
+		return adjacent[nodeID][k];
+	}
+
+	@Override
+	public int getNeighborCost(int nodeID, int k) {
+		return graph[nodeID][adjacent[nodeID][k]];
+	}
+
+	@Override
+	public Graph getReverse() {
+		if (reverse == null) {
+			int n = graph.length;
+			int[][] transpose = new int[n][n];
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					transpose[j][i] = graph[i][j];
+				}
+			}
+			DenseGraph r = new DenseGraph(transpose);
+			r.reverse = this;
+			reverse = r;
+		}
+		return reverse;
+	}
+}
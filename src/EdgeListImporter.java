@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads graphs from text files, so that search problems can be solved on external graphs (e.g., with
+ * new SimpleGraphSearchProblem(EdgeListImporter.read(file), start, goal)).  Two formats are supported:
+ *
+ * Edge list: one edge per line, "src dst cost", with 0-based node ids.  The cost may be left out, in which
+ * case it is 1.  The number of nodes is one more than the largest node id.  Blank lines and lines
+ * starting with # or % are ignored.
+ *
+ * DIMACS shortest path (.gr): a problem line "p sp n m", followed by arc lines "a u v w", with 1-based
+ * node ids.  Lines starting with c are comments.
+ *
+ * The file is read through a fixed size buffer and parsed byte by byte, so neither the file nor its lines
+ * are ever held in memory as a whole; only the edges are kept (three ints each), until the CSRGraph is built.
+ * If an edge is listed more than once, the least cost is kept.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class EdgeListImporter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	// the most edges allocated up front for the edge count of a "p sp n m" line, which may be wrong
+	private static final int MAX_PREALLOCATED_EDGES = 1 << 20;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final Path file;
+	private int line;
+	private int newlines;
+
+	// the fields of the current line: the first character (if it isn't part of a number) and the numbers
+	private int tag;
+	private final long[] fields = new long[4];
+	private int numFields;
+
+	// the edges read so far
+	private int numEdges;
+	private int[] from = new int[1024];
+	private int[] to = new int[1024];
+	private int[] cost = new int[1024];
+
+	private EdgeListImporter(FileChannel channel, Path file) {
+		this.channel = channel;
+		this.file = file;
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		buffer.flip();
+	}
+
+	/**
+	 * Reads a graph, in DIMACS format if the file name ends in .gr and in edge list format otherwise.
+	 *
+	 * @param file The file.
+	 * @return the graph
+	 * @throws IOException if the file can't be read or isn't in the expected format
+	 */
+	public static CSRGraph read(Path file) throws IOException {
+		if (file.toString().endsWith(".gr")) return readDIMACS(file);
+		return readEdgeList(file);
+	}
+
+	/**
+	 * Reads a graph in edge list format.
+	 *
+	 * @param file The file.
+	 * @return the graph
+	 * @throws IOException if the file can't be read or isn't in edge list format
+	 */
+	public static CSRGraph readEdgeList(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			EdgeListImporter importer = new EdgeListImporter(channel, file);
+			int maxNode = -1;
+			while (importer.nextLine()) {
+				if (importer.tag == '#' || importer.tag == '%') continue;
+				if (importer.tag != 0 || (importer.numFields != 2 && importer.numFields != 3)) {
+					throw importer.error("Expected \"src dst cost\"");
+				}
+				int u = importer.node(0, 0, Integer.MAX_VALUE);
+				int v = importer.node(1, 0, Integer.MAX_VALUE);
+				maxNode = Math.max(maxNode, Math.max(u, v));
+				importer.addEdge(u, v, (importer.numFields == 3) ? importer.cost(2) : 1);
+			}
+			if (maxNode < 0) throw new IOException("No edges in " + file);
+			return importer.build(maxNode + 1);
+		}
+	}
+
+	/**
+	 * Reads a graph in DIMACS shortest path format.  Node ids are converted from 1-based to 0-based.
+	 *
+	 * @param file The file.
+	 * @return the graph
+	 * @throws IOException if the file can't be read or isn't in DIMACS format
+	 */
+	public static CSRGraph readDIMACS(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			EdgeListImporter importer = new EdgeListImporter(channel, file);
+			int numNodes = -1;
+			while (importer.nextLine()) {
+				if (importer.tag == 'c') continue;
+				if (importer.tag == 'p') {
+					if (numNodes >= 0 || importer.numFields != 2) throw importer.error("Expected one \"p sp n m\" line");
+					numNodes = importer.node(0, 1, Integer.MAX_VALUE);
+					importer.ensureCapacity((int)Math.min(importer.fields[1], MAX_PREALLOCATED_EDGES));
+				} else if (importer.tag == 'a') {
+					if (numNodes < 0) throw importer.error("Arc before \"p sp n m\" line");
+					if (importer.numFields != 3) throw importer.error("Expected \"a u v w\"");
+					int u = importer.node(0, 1, numNodes) - 1;
+					int v = importer.node(1, 1, numNodes) - 1;
+					importer.addEdge(u, v, importer.cost(2));
+				} else {
+					throw importer.error("Unknown line type");
+				}
+			}
+			if (numNodes < 0) throw new IOException("No \"p sp n m\" line in " + file);
+			return importer.build(numNodes);
+		}
+	}
+
+	/*
+	 * Gets field k as a node id, which must be from min to max.
+	 */
+	private int node(int k, int min, int max) throws IOException {
+		if (fields[k] < min || fields[k] > max) throw error("Node id out of range");
+		return (int)fields[k];
+	}
+
+	/*
+	 * Gets field k as an edge cost, which must be positive.
+	 */
+	private int cost(int k) throws IOException {
+		if (fields[k] <= 0 || fields[k] > Integer.MAX_VALUE) throw error("Edge costs must be positive");
+		return (int)fields[k];
+	}
+
+	private IOException error(String message) {
+		return new IOException(message + " on line " + line + " of " + file);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > from.length) {
+			from = Arrays.copyOf(from, capacity);
+			to = Arrays.copyOf(to, capacity);
+			cost = Arrays.copyOf(cost, capacity);
+		}
+	}
+
+	private void addEdge(int u, int v, int c) {
+		if (numEdges == from.length) ensureCapacity(numEdges + (numEdges >> 1));
+		from[numEdges] = u;
+		to[numEdges] = v;
+		cost[numEdges] = c;
+		numEdges++;
+	}
+
+	private CSRGraph build(int numNodes) {
+		return CSRGraph.fromEdges(numNodes, numEdges, from, to, cost);
+	}
+
+	/*
+	 * Returns the next byte of the file (0 to 255), or -1 at the end of the file.
+	 */
+	private int read() throws IOException {
+		if (!buffer.hasRemaining()) {
+			buffer.clear();
+			int n;
+			do {
+				n = channel.read(buffer);
+			} while (n == 0);
+			buffer.flip();
+			if (n < 0) return -1;
+		}
+		return buffer.get() & 0xFF;
+	}
+
+	/*
+	 * Reads the next non-blank line into tag and fields.  A line starting with a letter or symbol
+	 * has that character as its tag, and words after it (e.g., "sp") are skipped; other lines may
+	 * only contain numbers.  Returns false at the end of the file.
+	 */
+	private boolean nextLine() throws IOException {
+		int b = read();
+		while (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+			if (b == '\n') newlines++;
+			b = read();
+		}
+		if (b < 0) return false;
+		line = newlines + 1;
+		tag = 0;
+		numFields = 0;
+		if (!isDigit(b)) {
+			tag = b;
+			if (tag == 'c' || tag == '#' || tag == '%') {
+				while (b >= 0 && b != '\n') b = read();
+				newlines++;
+				return true;
+			}
+			b = read();
+		}
+		while (b >= 0 && b != '\n') {
+			if (isDigit(b)) {
+				long value = 0;
+				while (isDigit(b)) {
+					if (value < Integer.MAX_VALUE) value = 10 * value + (b - '0');
+					b = read();
+				}
+				if (numFields == fields.length) throw error("Too many fields");
+				fields[numFields++] = value;
+			} else if (b == ' ' || b == '\t' || b == '\r') {
+				b = read();
+			} else if (b == '-') {
+				throw error("Negative number");
+			} else if (tag == 0) {
+				throw error("Expected a number");
+			} else {
+				while (b >= 0 && b != '\n' && b != ' ' && b != '\t' && b != '\r') b = read();
+			}
+		}
+		newlines++;
+		return true;
+	}
+
+	private static boolean isDigit(int b) {
+		return b >= '0' && b <= '9';
+	}
+}
@@ -0,0 +1,29 @@
+/**
+ * The kinds of priority queue that uniform cost search and A* search can use for the frontier.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public enum FrontierType {
+
+	/**
+	 * Binary heap with Comparator and hashing of States (the PQ class).  Works for all States.
+	 */
+	BINARY_HEAP,
+
+	/**
+	 * d-ary heap indexed by State.getIndex (the DaryPQ class), with the arity set by SearchProblem.setHeapArity
+	 * (4 by default).  Only for States that have an index.  Breaks ties between equal priority values differently
+	 * than BINARY_HEAP, so it may find a different solution of the same cost.
+	 */
+	DARY_HEAP,
+
+	/**
+	 * Monotone bucket queue (the BucketPQ class).  Only for integer priorities that never decrease, i.e.,
+	 * uniform cost search, or A* search with a consistent heuristic: with an inconsistent heuristic, A* search
+	 * throws an IllegalArgumentException when a priority value lower than the last one polled is offered.
+	 * Sized for the largest transition cost of the problem (SearchProblem.getMaxTransitionCost), and enlarged
+	 * if needed.
+	 */
+	BUCKET_QUEUE
+}
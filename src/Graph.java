@@ -0,0 +1,80 @@
+/**
+ * Interface for directed graphs with positive integer edge costs.
+ * Nodes are identified by the ids 0 through getNumNodes()-1.
+ *
+ * The out-edges of a node can be accessed by position (0 through getOutDegree(i)-1),
+ * so that the neighbors of a node can be listed without testing every other node in the graph.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public interface Graph {
+
+	/**
+	 * Gets number of nodes.
+	 *
+	 * @return the number of nodes in the graph
+	 */
+	int getNumNodes();
+
+	/**
+	 * Gets number of edges.
+	 *
+	 * @return the number of directed edges in the graph
+	 */
+	int getNumEdges();
+
+	/**
+	 * Checks if an edge exists.
+	 *
+	 * @param i node id
+	 * @param j node id
+	 * @return true if an edge exists from i to j
+	 */
+	boolean isEdge(int i, int j);
+
+	/**
+	 * Gets transition cost.
+	 *
+	 * @param nodeID First node
+	 * @param nodeID2 Second node
+	 * @return Cost of transitioning from nodeID to nodeID2
+	 * @throws IllegalArgumentException if there is no edge from nodeID to nodeID2
+	 */
+	int cost(int nodeID, int nodeID2);
+
+	/**
+	 * Gets the number of edges leaving a node.
+	 *
+	 * @param nodeID node id
+	 * @return the out-degree of nodeID
+	 */
+	int getOutDegree(int nodeID);
+
+	/**
+	 * Gets the target of one of the out-edges of a node.
+	 *
+	 * @param nodeID node id
+	 * @param k position of the edge, must be between 0 and getOutDegree(nodeID)-1
+	 * @return the id of the node at the end of the k-th out-edge of nodeID
+	 */
+	int getNeighbor(int nodeID, int k);
+
+	/**
+	 * Gets the cost of one of the out-edges of a node.
+	 *
+	 * @param nodeID node id
+	 * @param k position of the edge, must be between 0 and getOutDegree(nodeID)-1
+	 * @return the cost of the k-th out-edge of nodeID
+	 */
+	int getNeighborCost(int nodeID, int k);
+
+	/**
+	 * Gets the reverse of this graph, i.e., the graph with every edge reversed, so that the out-edges
+	 * of a node in the reverse graph are its in-edges (predecessors) in this graph.  The reverse graph
+	 * may be built the first time it is needed.
+	 *
+	 * @return the reverse graph
+	 */
+	Graph getReverse();
+}
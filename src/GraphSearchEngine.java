@@ -0,0 +1,191 @@
+import java.util.BitSet;
+
+/**
+ * Search algorithms specialized for graphs, where states are simply node ids.
+ *
+ * Instead of SearchNode and State objects, hash sets and hash maps, the search is
+ * done with primitive arrays indexed by node id (backpointers and g values), a BitSet of
+ * visited nodes, and an IndexedIntHeap.  All of these are allocated once, when the engine is
+ * constructed, and reused by every search, so no objects are allocated while expanding nodes.
+ * Only the solution path is converted to a chain of SearchNodes (containing SimpleGraphSearchStates)
+ * at the end.
+ *
+ * An engine is not thread safe.  Use one engine per thread.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class GraphSearchEngine {
+
+	private final Graph graph;
+	private final int[] backpointer;
+	private final int[] g;
+	private final BitSet visited;
+	private final int[] queue;
+	private final IndexedIntHeap heap;
+	private long numExpandedStates;
+
+	/**
+	 * Constructs a search engine for a graph.
+	 *
+	 * @param graph The graph.
+	 */
+	public GraphSearchEngine(Graph graph) {
+		this.graph = graph;
+		int N = graph.getNumNodes();
+		backpointer = new int[N];
+		g = new int[N];
+		visited = new BitSet(N);
+		queue = new int[N];
+		heap = new IndexedIntHeap(N);
+	}
+
+	/**
+	 * Gets the graph this engine searches.
+	 *
+	 * @return the graph
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Gets the number of nodes expanded by the most recent search.
+	 *
+	 * @return Number of expanded nodes.
+	 */
+	public long getNumExpandedStates() {
+		return numExpandedStates;
+	}
+
+	/**
+	 * Breadth First Search
+	 *
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 * @return A SearchNode containing the goal state, such that following the backpointers gives the
+	 * path from the start.  Returns null if the goal was not found.
+	 */
+	public SearchNode bfs(int start, int goal) {
+		reset();
+		if (start == goal) return buildPath(start, goal, goal);
+
+		int head = 0;
+		int tail = 0;
+		visited.set(start);
+		backpointer[start] = -1;
+		queue[tail++] = start;
+
+		while (head < tail) {
+			int s = queue[head++];
+			numExpandedStates++;
+			int degree = graph.getOutDegree(s);
+			for (int k = 0; k < degree; k++) {
+				int e = graph.getNeighbor(s, k);
+				if (!visited.get(e)) {
+					visited.set(e);
+					backpointer[e] = s;
+					if (e == goal) return buildPath(start, goal, goal);
+					queue[tail++] = e;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Uniform Cost Search
+	 *
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 * @return A SearchNode containing the goal state, such that following the backpointers gives the
+	 * path from the start.  Returns null if the goal was not found.
+	 */
+	public SearchNode uniformCostSearch(int start, int goal) {
+		return AStarSearch(start, goal, null);
+	}
+
+	/**
+	 * A* Search.
+	 *
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 * @param h A heuristic function.  If null, the search is uniform cost search.
+	 * @return A SearchNode containing the goal state, such that following the backpointers gives the
+	 * path from the start.  Returns null if the goal was not found.
+	 */
+	public SearchNode AStarSearch(int start, int goal, NodeHeuristic h) {
+		reset();
+		if (start == goal) return buildPath(start, goal, goal);
+
+		visited.set(start);
+		backpointer[start] = -1;
+		g[start] = 0;
+		heap.offer(start, h == null ? 0 : h.h(start));
+
+		while (!heap.isEmpty()) {
+			int s = heap.poll();
+			if (s == goal) return buildPath(start, goal, goal);
+			numExpandedStates++;
+			int gs = g[s];
+			int degree = graph.getOutDegree(s);
+			for (int k = 0; k < degree; k++) {
+				int e = graph.getNeighbor(s, k);
+				int ge = gs + graph.getNeighborCost(s, k);
+				if (!visited.get(e)) {
+					visited.set(e);
+				} else if (ge >= g[e]) {
+					continue;
+				}
+				g[e] = ge;
+				backpointer[e] = s;
+				heap.offer(e, h == null ? ge : ge + h.h(e));
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Clears the results of the previous search.
+	 */
+	private void reset() {
+		visited.clear();
+		heap.clear();
+		numExpandedStates = 0;
+	}
+
+	/*
+	 * Follows the backpointers from node back to the start, and builds the equivalent chain of SearchNodes.
+	 */
+	private SearchNode buildPath(int start, int goal, int node) {
+		int length = 0;
+		for (int v = node; v != start; v = backpointer[v]) {
+			length++;
+		}
+		int[] path = new int[length+1];
+		int v = node;
+		for (int i = length; i > 0; i--) {
+			path[i] = v;
+			v = backpointer[v];
+		}
+		path[0] = start;
+		return toSearchNodes(graph, start, goal, path);
+	}
+
+	/**
+	 * Converts a path of node ids into a chain of SearchNodes containing SimpleGraphSearchStates.
+	 *
+	 * @param graph The graph.
+	 * @param start The id of the start node of the problem.
+	 * @param goal The id of the goal node of the problem.
+	 * @param path The node ids along the path, in order from the start.
+	 * @return The SearchNode containing the last node of the path.
+	 */
+	static SearchNode toSearchNodes(Graph graph, int start, int goal, int[] path) {
+		SearchNode result = new SearchNode(new SimpleGraphSearchState(graph, start, goal, path[0]));
+		for (int i = 1; i < path.length; i++) {
+			result = new SearchNode(new SimpleGraphSearchState(graph, start, goal, path[i]), result);
+		}
+		return result;
+	}
+}
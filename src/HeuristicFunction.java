@@ -7,6 +7,12 @@
  */
 public interface HeuristicFunction {
 
+	/**
+	 * Value a heuristic may give a state from which the goal can't be reached.  Half of Integer.MAX_VALUE, so that
+	 * adding a path cost to it doesn't overflow.  A* doesn't put such states in its frontier.
+	 */
+	int DEAD_END = Integer.MAX_VALUE / 2;
+
 	/**
 	 * Implementations must provide a heuristic estimate of the cost of the 
 	 * least costly path from State s to the goal state.  Ideally, the heuristic
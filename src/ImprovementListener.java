@@ -0,0 +1,20 @@
+/**
+ * Interface for receiving the solutions of an anytime search (e.g., SearchProblem.ARAStarSearch) as
+ * they are found and improved.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public interface ImprovementListener {
+
+	/**
+	 * Called each time the search has finished improving its solution.
+	 *
+	 * @param solution A SearchNode containing the Goal state, such that following the backpointers gives
+	 * 					the best path found so far from the Start.
+	 * @param bound The current suboptimality bound: the cost of the solution is at most bound times the cost
+	 * 					of an optimal solution (if the heuristic is consistent).  A bound of 1 means the
+	 * 					solution is optimal.
+	 */
+	void improved(SearchNode solution, double bound);
+}
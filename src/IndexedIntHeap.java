@@ -0,0 +1,225 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * D-ary min-heap of integer ids with integer priorities.  Ids must be dense (small non-negative integers).
+ * The position of each id in the heap is tracked in an array, so the priority of an id already in the heap
+ * can be lowered in logarithmic time without any hashing or boxing.
+ *
+ * The arity (number of children per heap node) can be 2, 4 or 8.  Higher arity makes the heap shallower,
+ * so offering and lowering priorities is cheaper, while polling compares more children per level.
+ * The children of a heap node are adjacent in memory, so 4 is usually a good choice for search.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class IndexedIntHeap {
+
+	private int[] ids;
+	private int[] keys;
+	private int[] position;
+	private int size;
+	private final int shift;
+
+	/**
+	 * Constructs an empty binary heap.
+	 *
+	 * @param capacity The initial number of distinct ids (ids between 0 and capacity-1).  The heap grows
+	 * 						if larger ids are offered.
+	 */
+	public IndexedIntHeap(int capacity) {
+		this(capacity, 2);
+	}
+
+	/**
+	 * Constructs an empty heap.
+	 *
+	 * @param capacity The initial number of distinct ids (ids between 0 and capacity-1).  The heap grows
+	 * 						if larger ids are offered.
+	 * @param arity The number of children of each heap node: 2, 4 or 8.
+	 */
+	public IndexedIntHeap(int capacity, int arity) {
+		if (arity != 2 && arity != 4 && arity != 8) throw new IllegalArgumentException("Arity must be 2, 4 or 8.");
+		shift = Integer.numberOfTrailingZeros(arity);
+		ids = new int[capacity];
+		keys = new int[capacity];
+		position = new int[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * Gets the arity of the heap.
+	 *
+	 * @return the number of children of each heap node
+	 */
+	public int getArity() {
+		return 1 << shift;
+	}
+
+	/**
+	 * Adds an id to the heap, or lowers its priority if it is already in the heap with a higher priority.
+	 *
+	 * @param id The id.
+	 * @param priority The priority value (lower values come out first).
+	 * @return true if the heap changed, or false if the id was already in the heap with priority at most priority.
+	 */
+	public boolean offer(int id, int priority) {
+		if (id >= position.length) grow(id);
+		int i = position[id];
+		if (i < 0) {
+			i = size;
+			size++;
+		} else if (keys[i] <= priority) {
+			return false;
+		}
+		siftUp(i, id, priority);
+		return true;
+	}
+
+	/**
+	 * Checks if an id is in the heap.
+	 *
+	 * @param id The id.
+	 * @return true if id is in the heap
+	 */
+	public boolean contains(int id) {
+		return id < position.length && position[id] >= 0;
+	}
+
+	/**
+	 * Gets the priority of an id that is in the heap.
+	 *
+	 * @param id The id.
+	 * @return the priority value of id
+	 */
+	public int getPriority(int id) {
+		if (!contains(id)) throw new NoSuchElementException("Id not in heap: " + id);
+		return keys[position[id]];
+	}
+
+	/**
+	 * Gets the priority of the top of the heap, without removing it.
+	 *
+	 * @return The lowest priority value in the heap.
+	 */
+	public int peekPriority() {
+		if (size == 0) throw new NoSuchElementException();
+		return keys[0];
+	}
+
+	/**
+	 * Gets the id at the top of the heap, without removing it.
+	 *
+	 * @return The id with the lowest priority value.
+	 */
+	public int peek() {
+		if (size == 0) throw new NoSuchElementException();
+		return ids[0];
+	}
+
+	/**
+	 * Removes the id at the top of the heap.
+	 *
+	 * @return The id with the lowest priority value.
+	 */
+	public int poll() {
+		if (size == 0) throw new NoSuchElementException();
+		int top = ids[0];
+		position[top] = -1;
+		size--;
+		if (size > 0) {
+			siftDown(0, ids[size], keys[size]);
+		}
+		return top;
+	}
+
+	/**
+	 * Gets the id at a position of the heap's array (e.g., for iterating over the heap in arbitrary order).
+	 *
+	 * @param i The position, must be between 0 and size()-1.
+	 * @return The id at position i.
+	 */
+	public int idAt(int i) {
+		if (i >= size) throw new IndexOutOfBoundsException();
+		return ids[i];
+	}
+
+	/**
+	 * Removes all ids from the heap.  Takes time proportional to the size of the heap, not its capacity.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			position[ids[i]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of ids in the heap.
+	 *
+	 * @return number of ids in the heap
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the heap is empty.
+	 *
+	 * @return true if the heap is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/*
+	 * Moves the hole at position i up until id can be placed there.
+	 */
+	private void siftUp(int i, int id, int key) {
+		while (i > 0) {
+			int p = (i-1) >>> shift;
+			if (keys[p] <= key) break;
+			ids[i] = ids[p];
+			keys[i] = keys[p];
+			position[ids[i]] = i;
+			i = p;
+		}
+		ids[i] = id;
+		keys[i] = key;
+		position[id] = i;
+	}
+
+	/*
+	 * Moves the hole at position i down until id can be placed there.
+	 */
+	private void siftDown(int i, int id, int key) {
+		int first;
+		while ((first = (i << shift) + 1) < size) {
+			int last = Math.min(first + (1 << shift), size);
+			int c = first;
+			for (int j = first+1; j < last; j++) {
+				if (keys[j] < keys[c]) c = j;
+			}
+			if (key <= keys[c]) break;
+			ids[i] = ids[c];
+			keys[i] = keys[c];
+			position[ids[i]] = i;
+			i = c;
+		}
+		ids[i] = id;
+		keys[i] = key;
+		position[id] = i;
+	}
+
+	/*
+	 * Grows the arrays so that id is a valid id.
+	 */
+	private void grow(int id) {
+		int capacity = Math.max(id + 1, 2 * position.length);
+		int old = position.length;
+		ids = Arrays.copyOf(ids, capacity);
+		keys = Arrays.copyOf(keys, capacity);
+		position = Arrays.copyOf(position, capacity);
+		Arrays.fill(position, old, capacity, -1);
+	}
+}
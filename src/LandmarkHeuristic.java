@@ -0,0 +1,202 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Landmark (ALT) heuristic for graph search problems.  A few nodes of the graph are chosen as landmarks,
+ * and the least cost from every landmark to every node, and from every node to every landmark, is computed
+ * once (with a ShortestPathTree of each landmark, in the graph and in its reverse).  By the triangle
+ * inequality, for every landmark L:
+ *
+ *   cost(v, goal) >= cost(L, goal) - cost(L, v)   and   cost(v, goal) >= cost(v, L) - cost(goal, L)
+ *
+ * so the largest of these lower bounds is an admissible (and consistent) heuristic that takes
+ * O(number of landmarks) time to compute.  In a directed graph, a landmark can also show that v can't reach the
+ * goal (L reaches v but not the goal, or the goal reaches L but v doesn't); h is then DEAD_END.  Landmarks are chosen by farthest selection: each
+ * landmark is the node farthest from the landmarks already chosen.
+ *
+ * The heuristic works for any goal of the graph it was computed for: h(State) uses the goal of the
+ * SimpleGraphSearchState, and forGoal gives a NodeHeuristic for GraphSearchEngine.  The distance tables
+ * can be saved to a file and loaded again, so a graph only needs to be preprocessed once.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class LandmarkHeuristic implements HeuristicFunction {
+
+	private static final int MAGIC = 0x4C4D524B;
+	private static final int VERSION = 1;
+	private static final int INFINITY = ShortestPathTree.UNREACHABLE;
+
+	private final Graph graph;
+	private final int[] landmarks;
+	// cost from landmark i to node v is fromLandmark[v*landmarks.length + i], and to landmark i is toLandmark[...];
+	// INFINITY if there is no path.  The costs of each node are adjacent, so h reads contiguous memory.
+	private final int[] fromLandmark;
+	private final int[] toLandmark;
+
+	/**
+	 * Preprocesses a graph, choosing landmarks by farthest selection.
+	 *
+	 * @param graph The graph.
+	 * @param numLandmarks The number of landmarks.  More landmarks give a more accurate heuristic, but
+	 * 						take more memory and preprocessing time, and make the heuristic slower to compute.
+	 */
+	public LandmarkHeuristic(Graph graph, int numLandmarks) {
+		if (numLandmarks < 1) throw new IllegalArgumentException("Must have at least 1 landmark.");
+		int N = graph.getNumNodes();
+		numLandmarks = Math.min(numLandmarks, N);
+		this.graph = graph;
+		landmarks = new int[numLandmarks];
+		fromLandmark = new int[N * numLandmarks];
+		toLandmark = new int[N * numLandmarks];
+
+		// least cost from the landmarks chosen so far (initially, from node 0) to each node
+		int[] nearest = ShortestPathTree.from(graph, 0).getDistances().clone();
+		for (int i = 0; i < numLandmarks; i++) {
+			int farthest = 0;
+			for (int v = 1; v < N; v++) {
+				if (nearest[v] > nearest[farthest]) farthest = v;
+			}
+			landmarks[i] = farthest;
+			int[] from = ShortestPathTree.from(graph, farthest).getDistances();
+			int[] to = ShortestPathTree.from(graph.getReverse(), farthest).getDistances();
+			for (int v = 0; v < N; v++) {
+				fromLandmark[v * numLandmarks + i] = from[v];
+				toLandmark[v * numLandmarks + i] = to[v];
+				if (i == 0 || from[v] < nearest[v]) nearest[v] = from[v];
+			}
+		}
+	}
+
+	private LandmarkHeuristic(Graph graph, int[] landmarks, int[] fromLandmark, int[] toLandmark) {
+		this.graph = graph;
+		this.landmarks = landmarks;
+		this.fromLandmark = fromLandmark;
+		this.toLandmark = toLandmark;
+	}
+
+	/**
+	 * Gets the graph the heuristic was computed for.
+	 *
+	 * @return the graph
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Gets the landmarks.
+	 *
+	 * @return the node ids of the landmarks
+	 */
+	public int[] getLandmarks() {
+		return landmarks.clone();
+	}
+
+	/**
+	 * Lower bound on the cost of the least cost path between two nodes.
+	 *
+	 * @param nodeID The id of the node.
+	 * @param goal The id of the goal node.
+	 * @return Estimate of the cost of the least cost path from nodeID to goal, or DEAD_END if a landmark shows that
+	 * there is no such path.
+	 */
+	public int h(int nodeID, int goal) {
+		int L = landmarks.length;
+		int v = nodeID * L;
+		int t = goal * L;
+		int best = 0;
+		for (int i = 0; i < L; i++) {
+			int fv = fromLandmark[v + i];
+			int ft = fromLandmark[t + i];
+			int tv = toLandmark[v + i];
+			int tt = toLandmark[t + i];
+			// If the landmark reaches v but not the goal, or the goal reaches the landmark but v doesn't, then v can't
+			// reach the goal.  (Ignoring these terms instead would make h inconsistent: h would drop to 0 along an edge
+			// into a part of the graph that can't reach the goal.)
+			if (fv != INFINITY && ft == INFINITY) return DEAD_END;
+			if (tt != INFINITY && tv == INFINITY) return DEAD_END;
+			// otherwise an unreachable term is minus infinity, which doesn't change the maximum
+			if (ft != INFINITY && ft - fv > best) best = ft - fv;
+			if (tv != INFINITY && tv - tt > best) best = tv - tt;
+		}
+		return best;
+	}
+
+	/**
+	 * Heuristic estimate of the cost from a state to its goal.
+	 *
+	 * @param s A SimpleGraphSearchState of the graph the heuristic was computed for.
+	 * @return Estimate of the cost of the least cost path from s to the goal.
+	 */
+	@Override
+	public int h(State s) {
+		SimpleGraphSearchState state = (SimpleGraphSearchState)s;
+		return h(state.getNodeID(), state.getGoalID());
+	}
+
+	/**
+	 * Gets the heuristic for one goal, as a NodeHeuristic (e.g., for GraphSearchEngine).
+	 *
+	 * @param goal The id of the goal node.
+	 * @return the heuristic
+	 */
+	public NodeHeuristic forGoal(int goal) {
+		return nodeID -> h(nodeID, goal);
+	}
+
+	/**
+	 * Saves the landmarks and distance tables to a file, replacing the file if it exists.
+	 *
+	 * @param file The file.
+	 * @throws IOException if the file can't be written
+	 */
+	public void save(Path file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(graph.getNumNodes());
+			out.writeInt(graph.getNumEdges());
+			out.writeInt(landmarks.length);
+			for (int v : landmarks) out.writeInt(v);
+			for (int d : fromLandmark) out.writeInt(d);
+			for (int d : toLandmark) out.writeInt(d);
+		}
+	}
+
+	/**
+	 * Loads a heuristic saved with save.
+	 *
+	 * @param graph The graph the heuristic was computed for.
+	 * @param file The file.
+	 * @return the heuristic
+	 * @throws IOException if the file can't be read, isn't a landmark file, or was computed for a different graph
+	 */
+	public static LandmarkHeuristic load(Graph graph, Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			if (in.readInt() != MAGIC) throw new IOException("Not a landmark file: " + file);
+			int version = in.readInt();
+			if (version != VERSION) throw new IOException("Unsupported landmark file version: " + version);
+			if (in.readInt() != graph.getNumNodes() || in.readInt() != graph.getNumEdges()) {
+				throw new IOException("Landmark file is for a different graph: " + file);
+			}
+			int numLandmarks = in.readInt();
+			if (numLandmarks < 1 || numLandmarks > graph.getNumNodes()) throw new IOException("Corrupt landmark file: " + file);
+			int[] landmarks = new int[numLandmarks];
+			for (int i = 0; i < numLandmarks; i++) {
+				landmarks[i] = in.readInt();
+				if (landmarks[i] < 0 || landmarks[i] >= graph.getNumNodes()) throw new IOException("Corrupt landmark file: " + file);
+			}
+			int[] fromLandmark = new int[graph.getNumNodes() * numLandmarks];
+			int[] toLandmark = new int[fromLandmark.length];
+			for (int i = 0; i < fromLandmark.length; i++) fromLandmark[i] = in.readInt();
+			for (int i = 0; i < toLandmark.length; i++) toLandmark[i] = in.readInt();
+			return new LandmarkHeuristic(graph, landmarks, fromLandmark, toLandmark);
+		}
+	}
+}
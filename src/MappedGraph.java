@@ -0,0 +1,186 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A directed graph in compressed sparse row form (see CSRGraph), read directly from a memory-mapped
+ * binary graph file.  Nothing is copied onto the heap when a file is opened: the operating system pages
+ * the file in as it is used, and processes that open the same file share its pages in the page cache.
+ * Opening a large graph therefore takes about the same time as opening a small one.
+ *
+ * File format (all values are 32-bit little-endian ints):
+ *   header: MAGIC, VERSION, number of nodes N, number of edges M
+ *   offsets: N+1 values, such that the out-edges of node i are at positions offsets[i] through offsets[i+1]-1
+ *   targets: M values, sorted in increasing order within each node's range
+ *   costs: M values
+ *
+ * Any Graph can be written in this format with write (e.g., a SimpleGraph, so that it is generated only once).
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class MappedGraph implements Graph {
+
+	/**
+	 * The first int of a graph file.
+	 */
+	public static final int MAGIC = 0x47524146;
+	/**
+	 * The version of the file format.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int HEADER_BYTES = 16;
+
+	private final int numNodes;
+	private final int numEdges;
+	private final IntBuffer offsets;
+	private final IntBuffer targets;
+	private final IntBuffer costs;
+	private volatile Graph reverse;
+
+	/**
+	 * Opens a graph file.  The file is mapped read only, so it must not be changed while the graph is in use.
+	 *
+	 * @param file The graph file.
+	 * @throws IOException if the file can't be read or isn't a graph file
+	 */
+	public MappedGraph(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_BYTES) throw new IOException("Not a graph file: " + file);
+			IntBuffer header = map(channel, 0, 4);
+			if (header.get(0) != MAGIC) throw new IOException("Not a graph file: " + file);
+			if (header.get(1) != VERSION) throw new IOException("Unsupported graph file version: " + header.get(1));
+			numNodes = header.get(2);
+			numEdges = header.get(3);
+			if (numNodes < 1 || numEdges < 0
+					|| channel.size() != HEADER_BYTES + 4L * (numNodes + 1) + 8L * numEdges) {
+				throw new IOException("Corrupt graph file: " + file);
+			}
+			// Each section is mapped separately, since a single mapping is limited to 2GB.
+			offsets = map(channel, HEADER_BYTES, numNodes + 1);
+			targets = map(channel, HEADER_BYTES + 4L * (numNodes + 1), numEdges);
+			costs = map(channel, HEADER_BYTES + 4L * (numNodes + 1) + 4L * numEdges, numEdges);
+			if (offsets.get(0) != 0 || offsets.get(numNodes) != numEdges) throw new IOException("Corrupt graph file: " + file);
+		}
+	}
+
+	/*
+	 * Maps count ints of the file starting at position.  The mapping remains valid after the channel is closed.
+	 */
+	private static IntBuffer map(FileChannel channel, long position, int count) throws IOException {
+		if (4L * count > Integer.MAX_VALUE) throw new IOException("Graph too large to map.");
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * count).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+	}
+
+	/**
+	 * Writes a graph to a file in the binary graph file format, replacing the file if it exists.
+	 *
+	 * @param graph The graph.
+	 * @param file The file.
+	 * @throws IOException if the file can't be written
+	 */
+	public static void write(Graph graph, Path file) throws IOException {
+		int n = graph.getNumNodes();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(graph.getNumEdges());
+			int offset = 0;
+			buffer.putInt(offset);
+			for (int i = 0; i < n; i++) {
+				offset += graph.getOutDegree(i);
+				put(channel, buffer, offset);
+			}
+			if (offset != graph.getNumEdges()) throw new IllegalArgumentException("Graph has inconsistent edge count.");
+			for (int i = 0; i < n; i++) {
+				int degree = graph.getOutDegree(i);
+				for (int k = 0; k < degree; k++) put(channel, buffer, graph.getNeighbor(i, k));
+			}
+			for (int i = 0; i < n; i++) {
+				int degree = graph.getOutDegree(i);
+				for (int k = 0; k < degree; k++) put(channel, buffer, graph.getNeighborCost(i, k));
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	private static void put(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+		if (buffer.remaining() < 4) flush(channel, buffer);
+		buffer.putInt(value);
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) channel.write(buffer);
+		buffer.clear();
+	}
+
+	@Override
+	public int getNumNodes() {
+		return numNodes;
+	}
+
+	@Override
+	public int getNumEdges() {
+		return numEdges;
+	}
+
+	@Override
+	public boolean isEdge(int i, int j) {
+		return find(i, j) >= 0;
+	}
+
+	@Override
+	public int cost(int nodeID, int nodeID2) {
+		int e = find(nodeID, nodeID2);
+		if (e < 0) throw new IllegalArgumentException("No edge exists for given nodes.");
+		return costs.get(e);
+	}
+
+	@Override
+	public int getOutDegree(int nodeID) {
+		return offsets.get(nodeID+1) - offsets.get(nodeID);
+	}
+
+	@Override
+	public int getNeighbor(int nodeID, int k) {
+		return targets.get(offsets.get(nodeID) + k);
+	}
+
+	@Override
+	public int getNeighborCost(int nodeID, int k) {
+		return costs.get(offsets.get(nodeID) + k);
+	}
+
+	/**
+	 * Gets the reverse graph.  It is built on the heap (as a CSRGraph) the first time it is needed.
+	 */
+	@Override
+	public Graph getReverse() {
+		if (reverse == null) {
+			reverse = CSRGraph.reverse(this);
+		}
+		return reverse;
+	}
+
+	/*
+	 * Binary search of the out-edges of i for j.  Returns the edge position or a negative value if not found.
+	 */
+	private int find(int i, int j) {
+		int low = offsets.get(i);
+		int high = offsets.get(i+1) - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int t = targets.get(mid);
+			if (t < j) low = mid + 1;
+			else if (t > j) high = mid - 1;
+			else return mid;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,19 @@
+/**
+ * Interface for heuristic functions over graph node ids, for use by searches that work
+ * directly with node ids rather than State objects (e.g., GraphSearchEngine).
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public interface NodeHeuristic {
+
+	/**
+	 * Implementations must provide a heuristic estimate of the cost of the
+	 * least costly path from a node to the goal.  Ideally, the heuristic
+	 * should be admissible.
+	 *
+	 * @param nodeID The node for which we need an estimated cost to goal.
+	 * @return Estimate of the cost of the least cost path from nodeID to the goal.
+	 */
+	int h(int nodeID);
+}
@@ -0,0 +1,212 @@
+import java.util.Arrays;
+
+/**
+ * Search nodes stored as parallel arrays (struct of arrays) rather than as one SearchNode object each.
+ * A node is identified by an int handle, which is its position in the arrays: the State, the handle of
+ * the parent node (-1 for the root), g, the depth (number of steps from the root) and f.  Handles are
+ * given out in order, starting from 0.
+ *
+ * Nodes can also be registered by State, in an open addressing hash table of handles, so that the node of a
+ * State can be found without a HashMap (no entry objects and no boxing).  Only one node per State should be registered.
+ *
+ * SearchNode objects are only created for the solution, by toSearchNode, from the parents and g values of the
+ * nodes (without looking up transition costs).
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class NodePool {
+
+	private State[] states;
+	private int[] parent;
+	private int[] g;
+	private int[] depth;
+	private int[] f;
+	private int size;
+
+	// handle+1 of registered nodes, 0 for empty slots; length is a power of 2
+	private int[] table;
+	private int numRegistered;
+
+	/**
+	 * Constructs an empty node pool.
+	 */
+	public NodePool() {
+		this(1024);
+	}
+
+	/**
+	 * Constructs an empty node pool.
+	 *
+	 * @param capacity The initial number of nodes.  The pool grows as needed.
+	 */
+	public NodePool(int capacity) {
+		capacity = Math.max(capacity, 16);
+		states = new State[capacity];
+		parent = new int[capacity];
+		g = new int[capacity];
+		depth = new int[capacity];
+		f = new int[capacity];
+		table = new int[Integer.highestOneBit(capacity - 1) << 2];
+	}
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param state The State of the node.
+	 * @param parent The handle of the parent node, or -1 if the node is a root.
+	 * @param g The cost of the path to the node.
+	 * @param f The priority of the node (e.g., g plus heuristic).
+	 * @return the handle of the new node
+	 */
+	public int add(State state, int parent, int g, int f) {
+		if (size == states.length) {
+			int capacity = 2 * size;
+			states = Arrays.copyOf(states, capacity);
+			this.parent = Arrays.copyOf(this.parent, capacity);
+			this.g = Arrays.copyOf(this.g, capacity);
+			depth = Arrays.copyOf(depth, capacity);
+			this.f = Arrays.copyOf(this.f, capacity);
+		}
+		int h = size++;
+		states[h] = state;
+		set(h, parent, g, f);
+		return h;
+	}
+
+	/**
+	 * Changes the parent, g and f of a node, e.g., when a cheaper path to its State is found.
+	 *
+	 * @param handle The handle of the node.
+	 * @param parent The handle of the new parent node, or -1 if the node is a root.
+	 * @param g The new cost of the path to the node.
+	 * @param f The new priority of the node.
+	 */
+	public void set(int handle, int parent, int g, int f) {
+		this.parent[handle] = parent;
+		this.g[handle] = g;
+		depth[handle] = (parent < 0) ? 0 : depth[parent] + 1;
+		this.f[handle] = f;
+	}
+
+	/**
+	 * Gets the number of nodes.
+	 *
+	 * @return the number of nodes, which is also the next handle
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the State of a node.
+	 *
+	 * @param handle The handle of the node.
+	 * @return the State
+	 */
+	public State getState(int handle) {
+		return states[handle];
+	}
+
+	/**
+	 * Gets the parent of a node.
+	 *
+	 * @param handle The handle of the node.
+	 * @return the handle of the parent, or -1 if the node is a root
+	 */
+	public int getParent(int handle) {
+		return parent[handle];
+	}
+
+	/**
+	 * Gets the cost of the path to a node.
+	 *
+	 * @param handle The handle of the node.
+	 * @return g
+	 */
+	public int getG(int handle) {
+		return g[handle];
+	}
+
+	/**
+	 * Gets the number of steps from the root to a node.
+	 *
+	 * @param handle The handle of the node.
+	 * @return the depth
+	 */
+	public int getDepth(int handle) {
+		return depth[handle];
+	}
+
+	/**
+	 * Gets the priority of a node.
+	 *
+	 * @param handle The handle of the node.
+	 * @return f
+	 */
+	public int getF(int handle) {
+		return f[handle];
+	}
+
+	/**
+	 * Registers a node by its State, so that find can look it up.
+	 *
+	 * @param handle The handle of the node.
+	 */
+	public void register(int handle) {
+		if (2 * (numRegistered + 1) > table.length) {
+			int[] old = table;
+			table = new int[2 * old.length];
+			for (int entry : old) {
+				if (entry != 0) insert(entry - 1);
+			}
+		}
+		insert(handle);
+		numRegistered++;
+	}
+
+	/**
+	 * Finds the registered node of a State.
+	 *
+	 * @param state The State.
+	 * @return the handle of the node, or -1 if no node of an equal State is registered
+	 */
+	public int find(State state) {
+		int mask = table.length - 1;
+		for (int i = state.hashCode() & mask; table[i] != 0; i = (i + 1) & mask) {
+			if (states[table[i] - 1].equals(state)) return table[i] - 1;
+		}
+		return -1;
+	}
+
+	private void insert(int handle) {
+		int mask = table.length - 1;
+		int i = states[handle].hashCode() & mask;
+		while (table[i] != 0) i = (i + 1) & mask;
+		table[i] = handle + 1;
+	}
+
+	/**
+	 * Builds the SearchNodes of the path from the root to a node.  The cost of each step is the difference of the
+	 * g values of the node and its parent, so no transition costs are looked up, and each SearchNode has the g of
+	 * its node (and the root has g 0).
+	 *
+	 * @param handle The handle of the node.
+	 * @return A SearchNode containing the State of the node, such that following the backpointers gives the path from the root.
+	 */
+	public SearchNode toSearchNode(int handle) {
+		// the depth may be out of date, if an ancestor has been given a new parent
+		int length = 0;
+		for (int h = handle; h >= 0; h = parent[h]) length++;
+		int[] path = new int[length];
+		for (int i = path.length - 1; i >= 0; i--) {
+			path[i] = handle;
+			handle = parent[handle];
+		}
+		SearchNode node = new SearchNode(states[path[0]]);
+		for (int i = 1; i < path.length; i++) {
+			node = new SearchNode(states[path[i]], node, g[path[i]] - g[path[i-1]]);
+		}
+		return node;
+	}
+}
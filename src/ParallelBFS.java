@@ -0,0 +1,293 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level synchronous parallel breadth first search of a graph, for large graphs.
+ *
+ * Each level of the search is expanded in parallel by the workers of a ForkJoinPool.  The backpointers
+ * double as the visited set: a node is claimed by atomically changing its backpointer from -1.
+ *
+ * The search is direction optimizing.  While the frontier is small, each level is expanded top down
+ * (the out-edges of every frontier node are examined).  When the frontier has more edges than a fraction of the
+ * unvisited part of the graph, levels are expanded bottom up instead (every unvisited node examines its in-edges
+ * for a frontier node, and stops at the first one found), which examines far fewer edges when most of the graph
+ * is at the next level.  Bottom up steps use the in-edges, from the reverse graph.
+ *
+ * Unlike SearchProblem.bfs, the goal is checked when a level is finished rather than as soon as it is generated,
+ * but the path found is still a shortest path (in number of edges).
+ *
+ * The searches of one ParallelBFS object must not overlap (each search is parallel internally, but the
+ * level statistics belong to the object).  Use one object per concurrent caller.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class ParallelBFS {
+
+	// Switch to bottom up when frontier edges > unvisited edges / ALPHA,
+	// and back to top down when frontier nodes < nodes / BETA.
+	private static final int ALPHA = 14;
+	private static final int BETA = 24;
+	// Number of frontier nodes (or graph nodes, bottom up) handled by a single task.
+	private static final int GRAIN = 2048;
+
+	private final Graph graph;
+	private final ForkJoinPool pool;
+	private ArrayList<Level> levels;
+	private long numExpandedStates;
+
+	/**
+	 * Statistics about one level of a parallel BFS.
+	 */
+	public static class Level {
+		private final int frontierSize;
+		private final boolean bottomUp;
+		private final long time;
+
+		Level(int frontierSize, boolean bottomUp, long time) {
+			this.frontierSize = frontierSize;
+			this.bottomUp = bottomUp;
+			this.time = time;
+		}
+
+		/**
+		 * Gets the number of nodes in the frontier that was expanded.
+		 *
+		 * @return frontier size
+		 */
+		public int getFrontierSize() {
+			return frontierSize;
+		}
+
+		/**
+		 * Checks the direction of the level.
+		 *
+		 * @return true if the level was expanded bottom up, false if top down
+		 */
+		public boolean isBottomUp() {
+			return bottomUp;
+		}
+
+		/**
+		 * Gets the time taken to expand the level.
+		 *
+		 * @return elapsed time in nanoseconds
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		@Override
+		public String toString() {
+			return "frontier " + frontierSize + (bottomUp ? ", bottom up, " : ", top down, ") + (time / 1000000.0) + " ms";
+		}
+	}
+
+	/**
+	 * Constructs a parallel BFS for a graph, using the common ForkJoinPool.
+	 *
+	 * @param graph The graph.
+	 */
+	public ParallelBFS(Graph graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a parallel BFS for a graph.
+	 *
+	 * @param graph The graph.
+	 * @param pool The workers.
+	 */
+	public ParallelBFS(Graph graph, ForkJoinPool pool) {
+		this.graph = graph;
+		this.pool = pool;
+		levels = new ArrayList<Level>();
+	}
+
+	/**
+	 * Gets statistics of each level of the most recent search, in order from the start.
+	 *
+	 * @return the levels
+	 */
+	public List<Level> getLevels() {
+		return levels;
+	}
+
+	/**
+	 * Gets the number of nodes expanded by the most recent search (i.e., the total size of the frontiers).
+	 *
+	 * @return Number of expanded nodes.
+	 */
+	public long getNumExpandedStates() {
+		return numExpandedStates;
+	}
+
+	/**
+	 * Breadth First Search
+	 *
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 * @return A SearchNode containing the goal state, such that following the backpointers gives the
+	 * path from the start.  Returns null if the goal was not found.
+	 */
+	public SearchNode bfs(int start, int goal) {
+		levels = new ArrayList<Level>();
+		numExpandedStates = 0;
+		if (start == goal) return GraphSearchEngine.toSearchNodes(graph, start, goal, new int[] { start });
+
+		int n = graph.getNumNodes();
+		AtomicIntegerArray backpointer = new AtomicIntegerArray(n);
+		for (int i = 0; i < n; i++) backpointer.set(i, -1);
+		backpointer.set(start, start);
+
+		int[] frontier = { start };
+		long unvisitedEdges = graph.getNumEdges();
+		boolean bottomUp = false;
+
+		while (frontier.length > 0 && backpointer.get(goal) < 0) {
+			long frontierEdges = 0;
+			for (int v : frontier) frontierEdges += graph.getOutDegree(v);
+			unvisitedEdges -= frontierEdges;
+			if (!bottomUp && frontierEdges > unvisitedEdges / ALPHA) {
+				bottomUp = true;
+			} else if (bottomUp && frontier.length < n / BETA) {
+				bottomUp = false;
+			}
+
+			long time = System.nanoTime();
+			int[] next = bottomUp ? bottomUpStep(frontier, backpointer) : topDownStep(frontier, backpointer);
+			levels.add(new Level(frontier.length, bottomUp, System.nanoTime() - time));
+			numExpandedStates += frontier.length;
+			frontier = next;
+		}
+		if (backpointer.get(goal) < 0) return null;
+
+		int length = 0;
+		for (int v = goal; v != start; v = backpointer.get(v)) {
+			length++;
+		}
+		int[] path = new int[length+1];
+		int v = goal;
+		for (int i = length; i >= 0; i--) {
+			path[i] = v;
+			v = backpointer.get(v);
+		}
+		return GraphSearchEngine.toSearchNodes(graph, start, goal, path);
+	}
+
+	/*
+	 * Expands every frontier node, claiming unvisited neighbors.  Returns the next frontier.
+	 */
+	private int[] topDownStep(int[] frontier, AtomicIntegerArray backpointer) {
+		Chunk task = new Chunk(0, frontier.length, (from, to, out) -> {
+			for (int i = from; i < to; i++) {
+				int s = frontier[i];
+				int degree = graph.getOutDegree(s);
+				for (int k = 0; k < degree; k++) {
+					int e = graph.getNeighbor(s, k);
+					if (backpointer.get(e) < 0 && backpointer.compareAndSet(e, -1, s)) {
+						out.add(e);
+					}
+				}
+			}
+		});
+		pool.invoke(task);
+		return task.collect();
+	}
+
+	/*
+	 * Checks every unvisited node for a predecessor in the frontier.  Returns the next frontier.
+	 */
+	private int[] bottomUpStep(int[] frontier, AtomicIntegerArray backpointer) {
+		Graph in = graph.getReverse();
+		BitSet inFrontier = new BitSet(graph.getNumNodes());
+		for (int v : frontier) inFrontier.set(v);
+		Chunk task = new Chunk(0, graph.getNumNodes(), (from, to, out) -> {
+			for (int e = from; e < to; e++) {
+				if (backpointer.get(e) >= 0) continue;
+				int degree = in.getOutDegree(e);
+				for (int k = 0; k < degree; k++) {
+					int s = in.getNeighbor(e, k);
+					if (inFrontier.get(s)) {
+						// each node is checked by only one task, so no compareAndSet is needed
+						backpointer.set(e, s);
+						out.add(e);
+						break;
+					}
+				}
+			}
+		});
+		pool.invoke(task);
+		return task.collect();
+	}
+
+	/*
+	 * Work done on a range of indexes, adding nodes to out.
+	 */
+	private interface RangeWork {
+		void process(int from, int to, Chunk out);
+	}
+
+	/*
+	 * Task that splits a range of indexes into pieces of at most GRAIN, processes each in parallel,
+	 * and collects the nodes each piece adds, in order.
+	 */
+	private static class Chunk extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final RangeWork work;
+		private Chunk left;
+		private Chunk right;
+		private int[] added;
+		private int size;
+
+		Chunk(int from, int to, RangeWork work) {
+			this.from = from;
+			this.to = to;
+			this.work = work;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= GRAIN) {
+				added = new int[16];
+				work.process(from, to, this);
+			} else {
+				int mid = (from + to) >>> 1;
+				left = new Chunk(from, mid, work);
+				right = new Chunk(mid, to, work);
+				invokeAll(left, right);
+			}
+		}
+
+		void add(int v) {
+			if (size == added.length) added = Arrays.copyOf(added, 2 * size);
+			added[size++] = v;
+		}
+
+		int count() {
+			return (left == null) ? size : left.count() + right.count();
+		}
+
+		int[] collect() {
+			int[] result = new int[count()];
+			copyTo(result, 0);
+			return result;
+		}
+
+		private int copyTo(int[] result, int pos) {
+			if (left == null) {
+				System.arraycopy(added, 0, result, pos, size);
+				return pos + size;
+			}
+			return right.copyTo(result, left.copyTo(result, pos));
+		}
+	}
+}
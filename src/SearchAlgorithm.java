@@ -0,0 +1,83 @@
+/**
+ * A choice of search algorithm, for running the same algorithm over many search problems
+ * (e.g., with BatchSolver).
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public interface SearchAlgorithm {
+
+	/**
+	 * Breadth first search.
+	 */
+	SearchAlgorithm BFS = (problem, stats) -> problem.bfs(stats);
+
+	/**
+	 * Uniform cost search.
+	 */
+	SearchAlgorithm UNIFORM_COST = (problem, stats) -> problem.uniformCostSearch(stats);
+
+	/**
+	 * Depth first search (path checking).
+	 */
+	SearchAlgorithm DFS = (problem, stats) -> problem.dfs(stats);
+
+	/**
+	 * Iterative deepening search.
+	 */
+	SearchAlgorithm ITERATIVE_DEEPENING = (problem, stats) -> problem.iterativeDeepeningSearch(stats);
+
+	/**
+	 * A* search.
+	 *
+	 * @param h A heuristic function.
+	 * @return A* search with heuristic h
+	 */
+	static SearchAlgorithm aStar(HeuristicFunction h) {
+		return (problem, stats) -> problem.AStarSearch(h, stats);
+	}
+
+	/**
+	 * Weighted A* search.
+	 *
+	 * @param h A heuristic function.
+	 * @param w The weight of the heuristic, at least 1.
+	 * @return weighted A* search with heuristic h and weight w
+	 */
+	static SearchAlgorithm weightedAStar(HeuristicFunction h, double w) {
+		return (problem, stats) -> problem.weightedAStarSearch(h, w, stats);
+	}
+
+	/**
+	 * Anytime repairing A* (ARA*) search, with a budget for each problem.
+	 *
+	 * @param h A heuristic function.
+	 * @param initialWeight The weight of the heuristic for the first search, at least 1.
+	 * @param maxExpansions The most States to expand for each problem.
+	 * @param timeLimitMillis The most time (milliseconds) to search for each problem.
+	 * @return ARA* search with heuristic h, which gives the best solution found within the budget
+	 */
+	static SearchAlgorithm araStar(HeuristicFunction h, double initialWeight, long maxExpansions, long timeLimitMillis) {
+		return (problem, stats) -> problem.ARAStarSearch(h, initialWeight, maxExpansions, timeLimitMillis, null, stats);
+	}
+
+	/**
+	 * Iterative deepening A* search.
+	 *
+	 * @param h A heuristic function.
+	 * @return IDA* search with heuristic h
+	 */
+	static SearchAlgorithm idaStar(HeuristicFunction h) {
+		return (problem, stats) -> problem.IDAStarSearch(h, stats);
+	}
+
+	/**
+	 * Solves a search problem.
+	 *
+	 * @param problem The search problem.
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state (following the backpointers gives the path from the Start),
+	 * or null if the Goal was not found.
+	 */
+	SearchNode search(SearchProblem problem, SearchStatistics stats);
+}
@@ -0,0 +1,338 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A bounded cache of search results for graph search problems, keyed by the graph (its identity and
+ * version), the start and goal nodes, the search algorithm, and the configuration of the search (the SearchMode,
+ * node pooling and heap arity of the problem).  Solving a problem that was solved before returns the same solution
+ * path without searching again, with a copy of the statistics of the search (so that a caller that changes
+ * them doesn't change what other callers get).  When the cache is full, the least recently used result is evicted.
+ *
+ * Uniform cost search goes one step further: the search tree of each start node is kept (in a second, smaller
+ * LRU cache, since a tree takes about 20 bytes per node of the graph) and grown only as far as needed.
+ * A later query from the same start, to any goal, reuses the tree: if the goal has already been expanded, the path
+ * is read straight from the tree, otherwise the search resumes from where it stopped.  The statistics of such a
+ * query count only the work done for it.
+ *
+ * Graphs are not expected to change.  If one does, call invalidate, which moves the graph to a new version, so
+ * the results and trees of the old version are never used again (they are evicted as they age).
+ *
+ * A cache may be shared by several threads.  Searches are done outside the cache's lock, except that only one
+ * thread at a time can grow a given search tree.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class SearchCache {
+
+	private static final int INFINITY = Integer.MAX_VALUE;
+
+	private final Map<Key, SearchResult> results;
+	private final Map<Key, Tree> trees;
+	private final Map<Graph, Integer> versions;
+	private long hits;
+	private long misses;
+	private long treeHits;
+
+	/**
+	 * Constructs a cache of up to 1024 results and 2 uniform cost search trees.
+	 */
+	public SearchCache() {
+		this(1024, 2);
+	}
+
+	/**
+	 * Constructs a cache.
+	 *
+	 * @param maxResults The number of results to keep.
+	 * @param maxTrees The number of uniform cost search trees to keep (0 for none).  Each takes about 20 bytes
+	 * 					per node of its graph, whether or not the search has reached them.
+	 */
+	public SearchCache(int maxResults, int maxTrees) {
+		if (maxResults < 1) throw new IllegalArgumentException("Must keep at least 1 result.");
+		if (maxTrees < 0) throw new IllegalArgumentException("Number of trees must be non-negative.");
+		results = new LinkedHashMap<Key, SearchResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, SearchResult> eldest) {
+				return size() > maxResults;
+			}
+		};
+		trees = new LinkedHashMap<Key, Tree>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Tree> eldest) {
+				return size() > maxTrees;
+			}
+		};
+		versions = new WeakHashMap<Graph, Integer>();
+	}
+
+	/**
+	 * Solves a problem, or returns the result of solving it before with the same algorithm and configuration.
+	 * Results are only shared between calls that pass the same SearchAlgorithm object (e.g., SearchAlgorithm.BFS,
+	 * or one SearchAlgorithm.aStar(h) that is reused), for problems with the same SearchMode, node pooling and heap
+	 * arity.  SearchAlgorithm.UNIFORM_COST, for a graph search without node pooling, is done by uniformCostSearch.
+	 *
+	 * @param problem The search problem.
+	 * @param algorithm The search algorithm.
+	 * @return The result.
+	 */
+	public SearchResult solve(SimpleGraphSearchProblem problem, SearchAlgorithm algorithm) {
+		SearchMode mode = problem.getSearchMode();
+		if (algorithm == SearchAlgorithm.UNIFORM_COST && mode != SearchMode.TREE_SEARCH && !problem.isNodePooling()) {
+			return uniformCostSearch(problem.getGraph(), problem.getStartID(), problem.getGoalID());
+		}
+		Key key = key(problem.getGraph(), problem.getStartID(), problem.getGoalID(), algorithm,
+				mode, problem.isNodePooling(), problem.getHeapArity());
+		SearchResult result = get(key);
+		if (result == null) {
+			result = BatchSolver.solve(problem, algorithm);
+			put(key, result);
+		}
+		return copy(result);
+	}
+
+	/**
+	 * Uniform cost search, or the result of the same search before.  The search tree of the start node is
+	 * reused, if it is still in the cache.
+	 *
+	 * @param graph The graph.
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 * @return The result.  The solution is a chain of SearchNodes containing SimpleGraphSearchStates, as
+	 * from SimpleGraphSearchProblem.uniformCostSearch.
+	 */
+	public SearchResult uniformCostSearch(Graph graph, int start, int goal) {
+		// a search tree is a graph search without node pooling, and has no heap arity to choose
+		Key key = key(graph, start, goal, SearchAlgorithm.UNIFORM_COST, SearchMode.GRAPH_SEARCH, false, 0);
+		SearchResult result = get(key);
+		if (result != null) return copy(result);
+
+		Tree tree = tree(new Key(key.graph, key.version, start, -1, null, SearchMode.GRAPH_SEARCH, false, 0));
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		SearchStatistics stats = new SearchStatistics();
+		long startTime = bean.getCurrentThreadCpuTime();
+		SearchNode solution;
+		synchronized (tree) {
+			solution = tree.grow(goal, stats) ? tree.path(goal) : null;
+		}
+		result = new SearchResult(solution, stats, bean.getCurrentThreadCpuTime() - startTime);
+		put(key, result);
+		return copy(result);
+	}
+
+	/**
+	 * Moves a graph to a new version, so that the results and search trees of the graph that are in the
+	 * cache are not used again.  Must be called when a graph changes.
+	 *
+	 * @param graph The graph.
+	 */
+	public synchronized void invalidate(Graph graph) {
+		versions.put(graph, version(graph) + 1);
+	}
+
+	/**
+	 * Removes every result and search tree from the cache.
+	 */
+	public synchronized void clear() {
+		results.clear();
+		trees.clear();
+	}
+
+	/**
+	 * Gets the number of queries answered with a result that was already in the cache.
+	 *
+	 * @return Number of hits.
+	 */
+	public synchronized long getNumHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of queries that had to be solved.
+	 *
+	 * @return Number of misses.
+	 */
+	public synchronized long getNumMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gets the number of misses (uniform cost search only) solved with a search tree that an earlier query
+	 * from the same start had built.
+	 *
+	 * @return Number of queries that reused a search tree.
+	 */
+	public synchronized long getNumTreeHits() {
+		return treeHits;
+	}
+
+	/**
+	 * Gets the number of results in the cache.
+	 *
+	 * @return the number of results
+	 */
+	public synchronized int size() {
+		return results.size();
+	}
+
+	private synchronized int version(Graph graph) {
+		Integer v = versions.get(graph);
+		return (v == null) ? 0 : v;
+	}
+
+	private synchronized Key key(Graph graph, int start, int goal, SearchAlgorithm algorithm,
+			SearchMode mode, boolean nodePooling, int heapArity) {
+		return new Key(graph, version(graph), start, goal, algorithm, mode, nodePooling, heapArity);
+	}
+
+	/*
+	 * A result with the same solution as a cached one, and a copy of its statistics.
+	 */
+	private static SearchResult copy(SearchResult result) {
+		SearchStatistics stats = new SearchStatistics();
+		stats.add(result.getStatistics());
+		return new SearchResult(result.getSolution(), stats, result.getCpuTime());
+	}
+
+	private synchronized SearchResult get(Key key) {
+		SearchResult result = results.get(key);
+		if (result != null) hits++;
+		else misses++;
+		return result;
+	}
+
+	private synchronized void put(Key key, SearchResult result) {
+		results.put(key, result);
+	}
+
+	private synchronized Tree tree(Key key) {
+		Tree tree = trees.get(key);
+		if (tree != null) {
+			treeHits++;
+		} else {
+			tree = new Tree(key.graph, key.start);
+			trees.put(key, tree);
+		}
+		return tree;
+	}
+
+	/*
+	 * Graph (by identity), version, start, goal (-1 for a search tree), algorithm (by identity), and the search
+	 * configuration: SearchMode (null for the defaults), node pooling and heap arity.
+	 */
+	private static final class Key {
+		final Graph graph;
+		final int version;
+		final int start;
+		final int goal;
+		final SearchAlgorithm algorithm;
+		final SearchMode mode;
+		final boolean nodePooling;
+		final int heapArity;
+		final int hash;
+
+		Key(Graph graph, int version, int start, int goal, SearchAlgorithm algorithm,
+				SearchMode mode, boolean nodePooling, int heapArity) {
+			this.graph = graph;
+			this.version = version;
+			this.start = start;
+			this.goal = goal;
+			this.algorithm = algorithm;
+			this.mode = mode;
+			this.nodePooling = nodePooling;
+			this.heapArity = heapArity;
+			int config = (((mode == null) ? 0 : mode.ordinal() + 1) * 2 + (nodePooling ? 1 : 0)) * 16 + heapArity;
+			hash = (((System.identityHashCode(graph) * 31 + version) * 31 + start) * 31 + goal) * 31 + config
+					+ System.identityHashCode(algorithm);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) return false;
+			Key k = (Key)o;
+			return graph == k.graph && version == k.version && start == k.start && goal == k.goal && algorithm == k.algorithm
+					&& mode == k.mode && nodePooling == k.nodePooling && heapArity == k.heapArity;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/*
+	 * Uniform cost search tree of one start node, which can be grown a little more for each query.  Nodes are
+	 * expanded in order of cost, as by uniform cost search, so the path to an expanded node is a least cost path.
+	 */
+	private static final class Tree {
+		final Graph graph;
+		final int start;
+		final int[] g;
+		final int[] backpointer;
+		final BitSet expanded;
+		final IndexedIntHeap frontier;
+
+		Tree(Graph graph, int start) {
+			this.graph = graph;
+			this.start = start;
+			int N = graph.getNumNodes();
+			g = new int[N];
+			Arrays.fill(g, INFINITY);
+			backpointer = new int[N];
+			expanded = new BitSet(N);
+			frontier = new IndexedIntHeap(N, 4);
+			g[start] = 0;
+			backpointer[start] = -1;
+			frontier.offer(start, 0);
+		}
+
+		/*
+		 * Expands nodes until goal is expanded or the frontier is empty.  Returns true if goal is reachable.
+		 */
+		boolean grow(int goal, SearchStatistics stats) {
+			while (!expanded.get(goal) && !frontier.isEmpty()) {
+				int s = frontier.poll();
+				expanded.set(s);
+				stats.expanded();
+				int gs = g[s];
+				int degree = graph.getOutDegree(s);
+				for (int k = 0; k < degree; k++) {
+					int e = graph.getNeighbor(s, k);
+					int ge = gs + graph.getNeighborCost(s, k);
+					stats.generated();
+					if (ge < g[e]) {
+						g[e] = ge;
+						backpointer[e] = s;
+						frontier.offer(e, ge);
+					} else {
+						stats.duplicate();
+					}
+				}
+				stats.frontierSize(frontier.size());
+			}
+			return expanded.get(goal);
+		}
+
+		SearchNode path(int goal) {
+			int length = 0;
+			for (int v = goal; v != start; v = backpointer[v]) length++;
+			int[] path = new int[length+1];
+			int v = goal;
+			for (int i = length; i > 0; i--) {
+				path[i] = v;
+				v = backpointer[v];
+			}
+			path[0] = start;
+			return GraphSearchEngine.toSearchNodes(graph, start, goal, path);
+		}
+	}
+}
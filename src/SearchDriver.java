@@ -10,6 +10,8 @@ import java.util.Stack;
 public class SearchDriver {
 
 	static final int NUM_OF_PROBLEMS = 10;
+	// Problem i is generated from SEED + i, so every run compares the algorithms on the same problems.
+	static final long SEED = 4463;
 	/**
 	 * Prints (to System.out) the path from the start to the goal implied by the backpointers.
 	 * @param goal The end of the path that must be printed.
@@ -66,21 +68,20 @@ public class SearchDriver {
 		// have a connected graph).
 		// Third parameter should be set to true if you want all transition costs equal to 1, and false
 		// otherwise.
+		// Fourth parameter is the seed for generating the graph (leave it out for a different graph every run).
 		SimpleGraphSearchProblem[] problemSet = new SimpleGraphSearchProblem[NUM_OF_PROBLEMS];
 		for (int i = 0; i < problemSet.length; i++) {
-			problemSet[i] = new SimpleGraphSearchProblem(100, 0.1, false);
+			problemSet[i] = new SimpleGraphSearchProblem(100, 0.1, false, SEED + i);
 		}
 
 		// If you want to time your code, you need this object.
 		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
 
-		// Call this method before running any search algorithm to reset the
-		// code that is tracking the number of State expansions.
-		State.resetStats();
-
 		long start;
 		long totalTime;
 		SearchNode solution;
+		// Each search records the number of State expansions, etc, in its own statistics object.
+		SearchStatistics stats;
 		int expandedStates = 0, pathLength = 0, cost = 0;
 		
 		System.out.println("BFS");
@@ -89,14 +90,15 @@ public class SearchDriver {
 			System.out.println("BFS Problem #" + (i+1));
 			// example of how to time a method call (for cpu time)
 			start = bean.getCurrentThreadCpuTime();
-			solution = problemSet[i].bfs();
+			stats = new SearchStatistics();
+			solution = problemSet[i].bfs(stats);
 			totalTime = bean.getCurrentThreadCpuTime() - start;
 			System.out.println("Time: " + (totalTime/1000000000.0));
 			// time is in nanoseconds, so divide by 1000000000.0 to get seconds
 
 			// example of accessing the number of expanded states
-			System.out.println("Expanded: " + State.getNumExpandedStates());
-			expandedStates += State.getNumExpandedStates();
+			System.out.println("Expanded: " + stats.getNumExpandedStates());
+			expandedStates += stats.getNumExpandedStates();
 			// example of getting the path, its cost, etc.
 			if (solution != null) {
 				System.out.println("Path length: " + solution.getPathLengthToNode());
@@ -116,17 +118,17 @@ public class SearchDriver {
 		pathLength = 0; 
 		cost = 0;
 		
-		State.resetStats();
 		System.out.println("\nUNIFORM COST SEARCH");
 		for (int i = 0; i < problemSet.length; i++) {
 			System.out.println();
 			System.out.println("UCS Problem #" + (i+1));
 			start = bean.getCurrentThreadCpuTime();
-			solution = problemSet[i].uniformCostSearch();
+			stats = new SearchStatistics();
+			solution = problemSet[i].uniformCostSearch(stats);
 			totalTime = bean.getCurrentThreadCpuTime() - start;
 			System.out.println("Time: " + (totalTime/1000000000.0));
-			System.out.println("Expanded: " + State.getNumExpandedStates());
-			expandedStates += State.getNumExpandedStates();
+			System.out.println("Expanded: " + stats.getNumExpandedStates());
+			expandedStates += stats.getNumExpandedStates();
 
 			if (solution != null) {
 				System.out.println("Path length: " + solution.getPathLengthToNode());
@@ -142,18 +144,21 @@ public class SearchDriver {
 		System.out.println("Average Path Length: " + pathLength/NUM_OF_PROBLEMS);
 		System.out.println("Average Cost: " + cost/NUM_OF_PROBLEMS);
 		
+		expandedStates = 0; 
+		pathLength = 0; 
+		cost = 0;
 		
-		State.resetStats();
 		System.out.println("\nDEPTH FIRST");
 		for (int i = 0; i < problemSet.length; i++) {
 			System.out.println();
 			System.out.println("DFS Problem #" + (i+1));
 			start = bean.getCurrentThreadCpuTime();
-			solution = problemSet[i].dfs();
+			stats = new SearchStatistics();
+			solution = problemSet[i].dfs(stats);
 			totalTime = bean.getCurrentThreadCpuTime() - start;
 			System.out.println("Time: " + (totalTime/1000000000.0));
-			System.out.println("Expanded: " + State.getNumExpandedStates());
-			expandedStates += State.getNumExpandedStates();
+			System.out.println("Expanded: " + stats.getNumExpandedStates());
+			expandedStates += stats.getNumExpandedStates();
 
 			if (solution != null) {
 				System.out.println("Path length: " + solution.getPathLengthToNode());
@@ -173,17 +178,17 @@ public class SearchDriver {
 		pathLength = 0; 
 		cost = 0;
 		
-		State.resetStats();
 		System.out.println("\nITERATIVE DEEPENING");
 		for (int i = 0; i < problemSet.length; i++) {
 			System.out.println();
 			System.out.println("ID Problem #" + (i+1));
 			start = bean.getCurrentThreadCpuTime();
-			solution = problemSet[i].iterativeDeepeningSearch();
+			stats = new SearchStatistics();
+			solution = problemSet[i].iterativeDeepeningSearch(stats);
 			totalTime = bean.getCurrentThreadCpuTime() - start;
 			System.out.println("Time: " + (totalTime/1000000000.0));
-			System.out.println("Expanded: " + State.getNumExpandedStates());
-			expandedStates += State.getNumExpandedStates();
+			System.out.println("Expanded: " + stats.getNumExpandedStates());
+			expandedStates += stats.getNumExpandedStates();
 
 			if (solution != null) {
 				System.out.println("Path length: " + solution.getPathLengthToNode());
@@ -0,0 +1,23 @@
+/**
+ * Whether the search algorithms of SearchProblem remember the states they have visited.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public enum SearchMode {
+
+	/**
+	 * Remember visited states, so that each state is expanded at most once (or again only when reached by a
+	 * cheaper path).  BFS, uniform cost and A* keep the best known cost of each state generated; DFS keeps every
+	 * state pushed; depth limited DFS and iterative deepening keep the least depth each state was pushed at.
+	 * Memory grows with the number of states visited.
+	 */
+	GRAPH_SEARCH,
+
+	/**
+	 * Don't remember visited states.  DFS, depth limited DFS and iterative deepening only avoid cycles on the current
+	 * path (path checking), using memory proportional to the depth.  BFS, uniform cost and A* may generate the same
+	 * state many times, and ignore the FrontierType (they need a priority queue that allows the same state more than once).
+	 */
+	TREE_SEARCH
+}
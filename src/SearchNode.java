@@ -44,6 +44,21 @@ public class SearchNode {
 		pathLengthToNode = back.pathLengthToNode + 1;
 	}
 	
+	/**
+	 * Constructs a search node for a given state and given predecessor, when the cost of
+	 * the transition from the predecessor is already known (e.g., from a SuccessorIterator).
+	 * 
+	 * @param state The state the search node contains.
+	 * @param back The predecessor in the search space (i.e., the backpointer)
+	 * @param cost The cost of transitioning from the state of back to state.
+	 */
+	public SearchNode(State state, SearchNode back, int cost) {
+		this.state = state;
+		backpointer = back;
+		g = back.g + cost;
+		pathLengthToNode = back.pathLengthToNode + 1;
+	}
+	
 	/**
 	 * Gets the State object contained by this Search Node
 	 * 
@@ -1,10 +1,15 @@
 import java.util.ArrayDeque;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 
 
@@ -21,6 +26,10 @@ public class SearchProblem {
 
 	final private State start;
 	final private State goal;
+	// null until setSearchMode is called: each algorithm then uses its own default (see graphSearch)
+	private SearchMode mode;
+	private boolean nodePooling;
+	private int heapArity = 4;
 
 	/**
 	 * Use this constructor for search problems where
@@ -49,6 +58,96 @@ public class SearchProblem {
 	}
 
 
+	/**
+	 * Gets whether the search algorithms do graph search (remember visited states) or tree search.
+	 * 
+	 * @return the search mode, or null if none was set (each algorithm uses its default)
+	 */
+	public SearchMode getSearchMode() {
+		return mode;
+	}
+
+
+	/**
+	 * Sets whether the search algorithms do graph search (remember visited states) or tree search.
+	 * See SearchMode for what each mode means for each algorithm.  By default (or after setting null), bfs, uniform
+	 * cost search and A* do graph search, and dfs, depth limited DFS and iterative deepening do tree search (path
+	 * checking).  The bidirectional searches are always graph searches.
+	 * 
+	 * @param mode the search mode, or null for each algorithm's default
+	 */
+	public void setSearchMode(SearchMode mode) {
+		this.mode = mode;
+	}
+
+
+	/*
+	 * Whether a search does graph search: as set by setSearchMode, or the default of the algorithm if no mode was set.
+	 */
+	private boolean graphSearch(boolean byDefault) {
+		return (mode == null) ? byDefault : mode == SearchMode.GRAPH_SEARCH;
+	}
+
+
+	/**
+	 * Checks whether bfs, uniform cost search and A* search keep their search nodes in a NodePool.
+	 * 
+	 * @return true if the node pool is used
+	 */
+	public boolean isNodePooling() {
+		return nodePooling;
+	}
+
+
+	/**
+	 * Sets whether bfs, uniform cost search and A* search keep their search nodes in a NodePool (parallel arrays
+	 * indexed by int handles) rather than as SearchNode objects, with the frontier a heap of handles and the visited
+	 * States found through the pool's own hash table.  This allocates far less per generated State, which matters
+	 * for very large searches.  The result is the same (possibly a different path of the same cost), but the
+	 * FrontierType is ignored.  Off by default.
+	 * 
+	 * @param nodePooling true to use a node pool
+	 */
+	public void setNodePooling(boolean nodePooling) {
+		this.nodePooling = nodePooling;
+	}
+
+
+	/**
+	 * Gets the arity of the d-ary heap frontier (FrontierType.DARY_HEAP).
+	 * 
+	 * @return the number of children of each heap node
+	 */
+	public int getHeapArity() {
+		return heapArity;
+	}
+
+
+	/**
+	 * Sets the arity of the d-ary heap frontier (FrontierType.DARY_HEAP) of uniform cost search and A* search.
+	 * A higher arity makes the heap shallower, so offering and lowering priorities is cheaper, while polling compares
+	 * more children per level.  4 by default.
+	 * 
+	 * @param arity The number of children of each heap node: 2, 4 or 8.
+	 */
+	public void setHeapArity(int arity) {
+		if (arity != 2 && arity != 4 && arity != 8) throw new IllegalArgumentException("Arity must be 2, 4 or 8.");
+		heapArity = arity;
+	}
+
+
+	/**
+	 * Gets the largest cost of a single transition of the problem (or an upper bound on it).  The bucket queue
+	 * frontier (FrontierType.BUCKET_QUEUE) is sized by it; if a larger cost occurs, the queue is enlarged, which
+	 * takes time proportional to its size.  Problems that know their transition costs should override this.
+	 * 
+	 * @return 20, the largest transition cost of the random graphs of SimpleGraph
+	 */
+	protected int getMaxTransitionCost() {
+		return 20;
+	}
+
+
 	/*
 	 * Helper method for checking if a State is the goal.
 	 */
@@ -66,6 +165,20 @@ public class SearchProblem {
 	 * Returns null if the Goal was not found.
 	 */
 	public SearchNode bfs() {
+		return bfs(new SearchStatistics());
+	}
+
+
+	/**
+	 * Breadth First Search
+	 * 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode bfs(SearchStatistics stats) {
 
 		/*
 		 * Implement breadth first search (BFS).
@@ -96,6 +209,8 @@ public class SearchProblem {
 		if (goalCheck(start)) {
 			return new SearchNode(start);
 		}
+		if (nodePooling) return pooledBFS(stats);
+		boolean graphSearch = graphSearch(true);
 		Queue<SearchNode> frontier = new ArrayDeque<SearchNode>();
 		HashSet<State> visited = new HashSet<State>();
 
@@ -104,13 +219,18 @@ public class SearchProblem {
 
 		while (!frontier.isEmpty()) {
 			SearchNode s = frontier.poll();
-			Collection<State> succs = s.getState().getSuccessors();
-			for (State e : succs) {
+			stats.expanded();
+			SuccessorIterator succs = s.getState().successorIterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
 				if (goalCheck(e)) {
-					return new SearchNode(e, s);
+					return new SearchNode(e, s, succs.getCost());
+				} else if (graphSearch && !visited.add(e)) {
+					stats.duplicate();
 				} else {
-					visited.add(e);
-					frontier.add(new SearchNode(e, s));
+					frontier.add(new SearchNode(e, s, succs.getCost()));
+					stats.frontierSize(frontier.size());
 				}
 			}
 		}
@@ -127,6 +247,49 @@ public class SearchProblem {
 	 * Returns null if the Goal was not found.
 	 */
 	public SearchNode uniformCostSearch() {
+		return uniformCostSearch(FrontierType.BINARY_HEAP, new SearchStatistics());
+	}
+
+
+	/**
+	 * Uniform Cost Search
+	 * 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode uniformCostSearch(SearchStatistics stats) {
+		return uniformCostSearch(FrontierType.BINARY_HEAP, stats);
+	}
+
+
+	/**
+	 * Uniform Cost Search
+	 * 
+	 * @param frontierType The kind of priority queue to use for the frontier.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode uniformCostSearch(FrontierType frontierType) {
+		return uniformCostSearch(frontierType, new SearchStatistics());
+	}
+
+
+	/**
+	 * Uniform Cost Search
+	 * 
+	 * @param frontierType The kind of priority queue to use for the frontier.
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode uniformCostSearch(FrontierType frontierType, SearchStatistics stats) {
 
 		/*
 		 * Implement Uniform Cost Search.
@@ -164,6 +327,7 @@ public class SearchProblem {
 		 */
 		if (goalCheck(start)) 
 			return new SearchNode(start);
+		if (nodePooling) return pooledBestFirst(null, stats);
 
 		// Comparator which compares the f values.  Needed for the priority queue.
 		class UCSComparator implements Comparator<SearchNode> {
@@ -173,7 +337,10 @@ public class SearchProblem {
 			}
 		}
 
-		PQ<SearchNode> frontier = new PQ<SearchNode>(new UCSComparator());
+		// Tree search needs a priority queue that allows more than one SearchNode with the same State.
+		boolean graphSearch = graphSearch(true);
+		Queue<SearchNode> frontier = graphSearch ? newFrontier(frontierType, new UCSComparator(), SearchNode::getG)
+				: new PriorityQueue<SearchNode>(new UCSComparator());
 		frontier.offer(new SearchNode(start));
 		HashMap<State,Integer> visited = new HashMap<State,Integer>();
 		visited.put(start, 0);
@@ -183,17 +350,27 @@ public class SearchProblem {
 			if(goalCheck(curr.getState())){
 				return curr;
 			}
-			Collection<State> succs = curr.getState().getSuccessors();
-			for(State e : succs){
-				if(!visited.containsKey(e)){
-					SearchNode eNode = new SearchNode(e, curr);
+			stats.expanded();
+			SuccessorIterator succs = curr.getState().successorIterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
+				if(!graphSearch){
+					frontier.offer(new SearchNode(e, curr, succs.getCost()));
+					stats.frontierSize(frontier.size());
+				} else if(!visited.containsKey(e)){
+					SearchNode eNode = new SearchNode(e, curr, succs.getCost());
 					visited.put(e, eNode.getG());
 					frontier.offer(eNode);
+					stats.frontierSize(frontier.size());
 				} else {
-					SearchNode eNode = new SearchNode(e, curr);
+					SearchNode eNode = new SearchNode(e, curr, succs.getCost());
 					if(eNode.getG() < visited.get(e)){
 						visited.put(e, eNode.getG());
 						frontier.offer(eNode);
+						stats.frontierSize(frontier.size());
+					} else {
+						stats.duplicate();
 					}
 				}
 			}
@@ -203,7 +380,7 @@ public class SearchProblem {
 
 
 	/**
-	 * Depth First Search (path checking DFS)
+	 * Depth First Search (path checking DFS in tree search mode)
 	 * 
 	 * @return A SearchNode containing the Goal state and such that following the
 	 * backpointers will enable recovering the path from the Start to the Goal.
@@ -211,47 +388,63 @@ public class SearchProblem {
 	 * Returns null if the Goal was not found.
 	 */
 	public SearchNode dfs() {
+		return dfs(new SearchStatistics());
+	}
+
+
+	/**
+	 * Depth First Search (path checking DFS in tree search mode)
+	 * 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode dfs(SearchStatistics stats) {
 
 		/*
-		 * Implement depth first search (DFS).
-		 * 
-		 * Pseudocode:
+		 * Depth first search (DFS), with an explicit stack holding the current path.
 		 * 
 		 * 1. Check if the start state is the goal.  If the start is the goal, then return a SearchNode containing the start.
-		 * 2. Initialize an empty Stack of SearchNodes for our frontier.
-		 * 3. Add a SearchNode containing the start to the frontier.
-		 * 4. Repeat as long as the frontier is not empty.
-		 *   4.a. Pop the frontier and call that SearchNode s.
-		 *   4.b. For each successor e of s
-		 *      4.b.i. If e is the goal, return a SearchNode containing e with backpointer to s.
-		 *      4.b.ii. Otherwise, check if e is already on our current path, and if it is not on our current parh, push a SearchNode
-		 *                containing e with backpointer to s to the frontier.
-		 * 7. Return null (if we get to this point, there is no solution).
-		 * 
-		 * Hints:
+		 * 2. Push a frame for the start onto the path.  A frame holds a SearchNode and an iterator over its successors.
+		 * 3. Repeat as long as the path is not empty.
+		 *   3.a. If the top frame has no more successors, pop it (backtrack).
+		 *   3.b. Otherwise, take its next successor e.
+		 *      3.b.i. If e is the goal, return a SearchNode containing e with backpointer to the top frame's node.
+		 *      3.b.ii. Otherwise, if e is not already on the path, push a frame for e.
+		 * 4. Return null (if we get to this point, there is no solution).
 		 * 
-		 * -- I recommend Java's Stack class for the Stack.
-		 *
-		 * -- I gave you an unimplemented helper method for checking the path (see isOnPath below).  Implement that first as you will need it for 4.b.ii above. 
+		 * The States on the path are also kept in a HashSet, added when their frame is pushed and removed when it is popped,
+		 * so that checking whether e is on the path takes constant time rather than time proportional to the depth.
+		 * In graph search mode, States are never removed from the set, so it holds every State pushed.
 		 */
 		if (goalCheck(start)) 
 			return new SearchNode(start);
 
-		Stack<SearchNode> frontier = new Stack<SearchNode>();
-		frontier.push(new SearchNode(start));
-		while(!frontier.isEmpty()){
-			SearchNode s = frontier.pop();
-			Collection<State> succs = s.getState().getSuccessors();
-			for (State e : succs) {
-				if (goalCheck(e)) {
-					return new SearchNode(e, s);
-				} else {
-					if(isOnPath(s, e)){
-					}
-					else {
-						frontier.push(new SearchNode(e, s));
-					}
-				}
+		boolean graphSearch = graphSearch(false);
+		DFSPath path = new DFSPath();
+
+		path.seen.add(start);
+		path.push(start, 0);
+		stats.expanded();
+		while(!path.isEmpty()){
+			SuccessorIterator succs = path.topSuccessors();
+			if (!succs.hasNext()) {
+				State s = path.pop();
+				if (!graphSearch) path.seen.remove(s);
+				continue;
+			}
+			State e = succs.next();
+			stats.generated();
+			if (goalCheck(e)) {
+				return path.toSearchNode(e, succs.getCost());
+			} else if (!path.seen.add(e)) {
+				stats.duplicate();
+			} else {
+				path.push(e, path.topG() + succs.getCost());
+				stats.expanded();
+				stats.frontierSize(path.size());
 			}
 		}
 		return null;
@@ -259,30 +452,89 @@ public class SearchProblem {
 
 
 	/*
-	 * Helper method for path-checking DFS.  Checks if a State is already in the current path.
+	 * The current path of a depth first search, as an explicit stack: the State at each depth, an iterator over
+	 * the successors of that State still to be tried, and the cost of the path to that State.  The searches keep
+	 * the States on the path (or every State pushed, or the least depth each State was pushed at) in seen and depth.
+	 * 
+	 * SearchNodes are only created for the solution.  The arrays grow as needed and, with the set and map, are reused
+	 * by every iteration of iterative deepening and IDA*, so an iteration allocates little besides the successors.
 	 */
-	private boolean isOnPath(SearchNode pathEnd, State s) {
+	private static final class DFSPath {
+		private State[] states = new State[16];
+		private SuccessorIterator[] successors = new SuccessorIterator[16];
+		private int[] g = new int[16];
+		private int size;
+		private final HashSet<State> seen = new HashSet<State>();
+		private final HashMap<State,Integer> depth = new HashMap<State,Integer>();
+		// graph search mode: the States reached at the limit, and not (yet) at a lesser depth
+		private final HashSet<State> cutOff = new HashSet<State>();
+
+		void push(State s, int cost) {
+			if (size == states.length) {
+				states = Arrays.copyOf(states, 2 * size);
+				successors = Arrays.copyOf(successors, 2 * size);
+				g = Arrays.copyOf(g, 2 * size);
+			}
+			states[size] = s;
+			successors[size] = s.successorIterator();
+			g[size] = cost;
+			size++;
+		}
+
+		State pop() {
+			size--;
+			State s = states[size];
+			states[size] = null;
+			successors[size] = null;
+			return s;
+		}
+
+		SuccessorIterator topSuccessors() {
+			return successors[size-1];
+		}
+
+		int topG() {
+			return g[size-1];
+		}
+
+		int size() {
+			return size;
+		}
 
-		// check if s is in node pathEnd, and if so return true.
-		// otherwise, follow the backpointers until you either find a node that contains s (in which case return true)
-		// or until you find a null backpointer (in which case return false)
-		if(pathEnd.getState().equals(s)){
-			return true;
+		boolean isEmpty() {
+			return size == 0;
 		}
 
-		while(pathEnd.getBackpointer() != null){
-			pathEnd = pathEnd.getBackpointer();
-			if(pathEnd.getState().equals(s)){
-				return true;
+		void clear() {
+			while (size > 0) pop();
+			seen.clear();
+			depth.clear();
+			cutOff.clear();
+		}
+
+		/*
+		 * Builds the SearchNodes of the path, followed by last, which is reached from the top State at the given cost.
+		 */
+		SearchNode toSearchNode(State last, int cost) {
+			SearchNode node = new SearchNode(states[0]);
+			for (int i = 1; i < size; i++) {
+				node = new SearchNode(states[i], node, g[i] - g[i-1]);
 			}
-		}		
-		return false;
+			return new SearchNode(last, node, cost);
+		}
 	}
 
 
-	// HINT: for when you implement depthLimitedDFS and iterativeDeepening (will help give iterativeDeepening info on whether or not you should 
-	// increase limit further
-	private boolean didLimit; 
+	/*
+	 * Helper method for graph search depth limited DFS.  Records that State s was reached at depth d, and
+	 * returns true if it had not already been reached at depth d or less.
+	 */
+	private static boolean shallower(HashMap<State,Integer> depth, State s, int d) {
+		Integer previous = depth.get(s);
+		if (previous != null && previous <= d) return false;
+		depth.put(s, d);
+		return true;
+	}
 
 
 	/**
@@ -296,43 +548,81 @@ public class SearchProblem {
 	 * Returns null if the Goal was not found.
 	 */
 	public SearchNode depthLimitedDFS(int limit) {
+		return depthLimitedDFS(limit, new SearchStatistics());
+	}
+
+
+	/**
+	 * Depth Limited DFS
+	 * 
+	 * @param limit Limit on how deep into the search space the search goes
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode depthLimitedDFS(int limit, SearchStatistics stats) {
+		return depthLimitedDFS(limit, stats, new boolean[1], new DFSPath());
+	}
+
+
+	/*
+	 * Depth limited DFS, which also reports in didLimit[0] whether any state was ignored because of the limit
+	 * (which tells iterativeDeepening whether or not it should increase the limit further).  Reported through a parameter
+	 * rather than a field so that concurrent searches of the same problem don't interfere.  The path (which is cleared
+	 * first) is passed in so that iterativeDeepeningSearch can reuse it.
+	 */
+	private SearchNode depthLimitedDFS(int limit, SearchStatistics stats, boolean[] didLimit, DFSPath path) {
 
-		// Implement depth limited DFS.  This is just like DFS (path checking), except ignore any states that are more than limit steps away from the start.
-		// See the comment for the didLimit field.  Technically you can ignore that and get depthLimitedDFS correct.  However, to help with
-		// iterativeDeepening below, do the following: (a) initialize didLimit to false at the start of this method, and set it to true if you discover a state
-		// beyond the limit (i.e., if depthLimitedSearch actually ignores something because it is more than limit steos from the start).
-		didLimit = false;
+		// Just like DFS, except that States limit steps away from the start are not expanded.  didLimit is set
+		// if a State is not expanded because of the limit.
+		didLimit[0] = false;
 
 		if (goalCheck(start)) 
 			return new SearchNode(start);
+		if (limit <= 0) {
+			didLimit[0] = true;
+			return null;
+		}
 
-		Stack<SearchNode> frontier = new Stack<SearchNode>();
-		frontier.push(new SearchNode(start));
-		while(!frontier.isEmpty()){
-			SearchNode s = frontier.pop();
+		// Graph search remembers the least depth at which each state was pushed, and only pushes a state again if it
+		// is reached at a lesser depth (since more of the search space below it is then within the limit).
+		// Tree search only avoids cycles (path checking), with the States on the path kept in a HashSet as in dfs.
+		boolean graphSearch = graphSearch(false);
+		path.clear();
 
-			if(s.getPathLengthToNode() == limit){
-				State last = s.getState();
-				if (goalCheck(last)) {
-					return new SearchNode(last, s);
-				}
-				didLimit = true;
+		path.depth.put(start, 0);
+		path.seen.add(start);
+		path.push(start, 0);
+		stats.expanded();
+		while(!path.isEmpty()){
+			SuccessorIterator succs = path.topSuccessors();
+			if (!succs.hasNext()) {
+				path.seen.remove(path.pop());
+				continue;
 			}
-			else{
-				Collection<State> succs = s.getState().getSuccessors();
-				for (State e : succs) {
-					if (goalCheck(e)) {
-						return new SearchNode(e, s);
-					} else {
-						if(isOnPath(s, e)){
-						}
-						else {
-							frontier.push(new SearchNode(e, s));
-						}
-					}
-				}
+			State e = succs.next();
+			stats.generated();
+			int d = path.size();
+			if (goalCheck(e)) {
+				return path.toSearchNode(e, succs.getCost());
+			} else if (graphSearch ? !shallower(path.depth, e, d) : path.seen.contains(e)) {
+				stats.duplicate();
+			} else if (d == limit) {
+				// In graph search mode, e may still be reached at a lesser depth later, and then it wasn't cut off after
+				// all.  (Counting it anyway would keep the limit growing to the length of the longest path.)
+				if (graphSearch) path.cutOff.add(e);
+				else didLimit[0] = true;
+			} else {
+				if (graphSearch) path.cutOff.remove(e);
+				path.seen.add(e);
+				path.push(e, path.topG() + succs.getCost());
+				stats.expanded();
+				stats.frontierSize(path.size());
 			}
 		}
+		if (graphSearch) didLimit[0] = !path.cutOff.isEmpty();
 		return null;
 	}
 
@@ -345,6 +635,20 @@ public class SearchProblem {
 	 * Returns null if the Goal was not found.
 	 */
 	public SearchNode iterativeDeepeningSearch() {
+		return iterativeDeepeningSearch(new SearchStatistics());
+	}
+
+
+	/**
+	 * Iterative Deepening Search
+	 * 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode iterativeDeepeningSearch(SearchStatistics stats) {
 
 		/* Implement Iterative Deepening search
 		 * 
@@ -355,16 +659,21 @@ public class SearchProblem {
 		 * 3. Perform a depthLimitedDFS, and if it solves problem, return its solution.
 		 * 4. If solution not found, increase limit by 1, and go back to step 3 (repeat until either solution found or depthLimitedDFS doesn't actually limit anything).
 		 * 5. If no solution found, return null.
+		 * 
+		 * Every iteration reuses the same explicit stack, so memory stays linear in the depth without reallocating it.
+		 * A limit is only tried if the previous one actually cut something off, since otherwise it can't find anything new.
 		 */
 		if (goalCheck(start)) 
 			return new SearchNode(start);
 
 		int limit = 1;
 		SearchNode s = null;
+		boolean[] didLimit = new boolean[1];
+		DFSPath path = new DFSPath();
 		do {
-			s = depthLimitedDFS(limit);
+			s = depthLimitedDFS(limit, stats, didLimit, path);
 			limit++;
-		} while (s == null && didLimit);
+		} while (s == null && didLimit[0]);
 
 		return s;
 	}	
@@ -380,9 +689,56 @@ public class SearchProblem {
 	 * Returns null if the Goal was not found.
 	 */
 	public SearchNode AStarSearch(HeuristicFunction h) {
+		return AStarSearch(h, FrontierType.BINARY_HEAP, new SearchStatistics());
+	}
+
+
+	/**
+	 * A* Search.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode AStarSearch(HeuristicFunction h, SearchStatistics stats) {
+		return AStarSearch(h, FrontierType.BINARY_HEAP, stats);
+	}
+
+
+	/**
+	 * A* Search.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param frontierType The kind of priority queue to use for the frontier.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode AStarSearch(HeuristicFunction h, FrontierType frontierType) {
+		return AStarSearch(h, frontierType, new SearchStatistics());
+	}
+
+
+	/**
+	 * A* Search.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param frontierType The kind of priority queue to use for the frontier.
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode AStarSearch(HeuristicFunction h, FrontierType frontierType, SearchStatistics stats) {
 
 		if (goalCheck(start)) 
 			return new SearchNode(start);
+		if (nodePooling) return pooledBestFirst(h, stats);
 
 		// A* needs f values for the priority queue.
 		// This subclass of SearchNode provides that.  Inner class since only needed here.
@@ -392,11 +748,12 @@ public class SearchProblem {
 				super(state);
 				f = getG()+h.h(state);
 			}
-			public AStarNode(State state, AStarNode back) {
-				super(state,back);
+			public AStarNode(State state, AStarNode back, int cost) {
+				super(state, back, cost);
 				f = getG()+h.h(state);
 			}
 			public int getF() { return f; }
+			public boolean isDeadEnd() { return f - getG() >= HeuristicFunction.DEAD_END; }
 		}
 
 		// Comparator which compares the f values.  Needed for the priority queue.
@@ -407,30 +764,705 @@ public class SearchProblem {
 			}
 		}
 
-		PQ<AStarNode> frontier = new PQ<AStarNode>(new MyComparator());
+		// Tree search needs a priority queue that allows more than one SearchNode with the same State.
+		boolean graphSearch = graphSearch(true);
+		Queue<AStarNode> frontier = graphSearch ? newFrontier(frontierType, new MyComparator(), AStarNode::getF)
+				: new PriorityQueue<AStarNode>(new MyComparator());
 		frontier.offer(new AStarNode(start));
 		HashMap<State,Integer> generated = new HashMap<State,Integer>();
 		generated.put(start,h.h(start));
+		HashSet<State> expanded = new HashSet<State>();
 
 		while (!frontier.isEmpty()) {
 			AStarNode s = frontier.poll();
 			if (goalCheck(s.getState())) return s;
-			Collection<State> succs = s.getState().getSuccessors();
-			for (State e : succs) {
-				if (!generated.containsKey(e)) {
-					AStarNode eS = new AStarNode(e,s);
+			stats.expanded();
+			if (graphSearch) expanded.add(s.getState());
+			SuccessorIterator succs = s.getState().successorIterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
+				AStarNode eS = new AStarNode(e, s, succs.getCost());
+				// the Goal can't be reached from a dead end, so there is no point putting it in the frontier
+				if (eS.isDeadEnd()) continue;
+				if (!graphSearch) {
+					frontier.offer(eS);
+					stats.frontierSize(frontier.size());
+				} else if (!generated.containsKey(e)) {
 					generated.put(e, eS.getF());
 					frontier.offer(eS);
+					stats.frontierSize(frontier.size());
+				} else if (eS.getF() < generated.get(e)) {
+					generated.put(e, eS.getF());
+					frontier.offer(eS);
+					stats.frontierSize(frontier.size());
+					if (expanded.remove(e)) stats.reopened();
 				} else {
-					AStarNode eS = new AStarNode(e,s);
-					if (eS.getF() < generated.get(e)) {
-						generated.put(e, eS.getF());
-						frontier.offer(eS);
+					stats.duplicate();
+				}
+			}
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Weighted A* Search.  A* ordered by f = g + w*h for a weight w of at least 1, i.e., with the heuristic
+	 * inflated by w.  Larger weights make the search greedier, so it usually expands far fewer States, but the
+	 * solution may no longer be optimal: if h is admissible, its cost is at most w times the cost of an optimal
+	 * solution.  A weight of 1 is A*.  Always a graph search (a State reached by a cheaper path after it was
+	 * expanded is reopened), whatever the SearchMode.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param w The weight of the heuristic, at least 1.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode weightedAStarSearch(HeuristicFunction h, double w) {
+		return weightedAStarSearch(h, w, new SearchStatistics());
+	}
+
+
+	/**
+	 * Weighted A* Search.  A* ordered by f = g + w*h for a weight w of at least 1, i.e., with the heuristic
+	 * inflated by w.  Larger weights make the search greedier, so it usually expands far fewer States, but the
+	 * solution may no longer be optimal: if h is admissible, its cost is at most w times the cost of an optimal
+	 * solution.  A weight of 1 is A*.  Always a graph search (a State reached by a cheaper path after it was
+	 * expanded is reopened), whatever the SearchMode.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param w The weight of the heuristic, at least 1.
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode weightedAStarSearch(HeuristicFunction h, double w, SearchStatistics stats) {
+		if (!(w >= 1)) throw new IllegalArgumentException("Weight must be at least 1.");
+		if (goalCheck(start)) 
+			return new SearchNode(start);
+
+		WeightedNode root = new WeightedNode(start, h.h(start));
+		PQ<WeightedNode> frontier = new PQ<WeightedNode>(new WeightedComparator(w));
+		frontier.offer(root);
+		HashMap<State,WeightedNode> generated = new HashMap<State,WeightedNode>();
+		generated.put(start, root);
+		HashSet<State> expanded = new HashSet<State>();
+
+		while (!frontier.isEmpty()) {
+			WeightedNode s = frontier.poll();
+			if (goalCheck(s.getState())) return s;
+			stats.expanded();
+			expanded.add(s.getState());
+			SuccessorIterator succs = s.getState().successorIterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
+				WeightedNode old = generated.get(e);
+				if (old != null && s.getG() + succs.getCost() >= old.getG()) {
+					stats.duplicate();
+					continue;
+				}
+				// a State's heuristic doesn't depend on the path, so it is only computed once
+				WeightedNode eS = new WeightedNode(e, s, succs.getCost(), (old == null) ? h.h(e) : old.h);
+				generated.put(e, eS);
+				frontier.offer(eS);
+				stats.frontierSize(frontier.size());
+				if (old != null && expanded.remove(e)) stats.reopened();
+			}
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Anytime Repairing A* (ARA*) Search.  Finds a first solution quickly with weighted A* (weight initialWeight),
+	 * then repeatedly lowers the weight and searches again, until the solution is known to be optimal or the budget
+	 * runs out.  Each search reuses the work of the previous ones: it only reexpands the States whose cost from the
+	 * start was lowered since they were last expanded, and ignores States that can't lead to a cheaper solution than
+	 * the best one found so far.  The heuristic should be consistent (for the suboptimality bounds to hold).
+	 * 
+	 * After each search, the listener (if not null) is given the best solution found so far and a bound on how far
+	 * from optimal it is: its cost is at most bound times the cost of an optimal solution.  The bound is the least of
+	 * the weight and the cost of the solution divided by the least g+h over the States not yet done, and is 1 once the
+	 * solution is optimal.  The weight of each search is half as far from 1 as the previous one (and no more than the
+	 * bound), and becomes 1 once it is within 0.05 of 1.  Always a graph search, whatever the SearchMode.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param initialWeight The weight of the heuristic for the first search, at least 1.
+	 * @param maxExpansions The most States to expand, in total over all the searches.
+	 * @param timeLimitMillis The most time (milliseconds) to search.
+	 * @param listener Told of each improvement of the solution (may be null).
+	 * @return A SearchNode containing the Goal state of the best solution found within the budget, and such that
+	 * following the backpointers will enable recovering the path from the Start to the Goal.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode ARAStarSearch(HeuristicFunction h, double initialWeight, long maxExpansions, long timeLimitMillis, ImprovementListener listener) {
+		return ARAStarSearch(h, initialWeight, maxExpansions, timeLimitMillis, listener, new SearchStatistics());
+	}
+
+
+	/**
+	 * Anytime Repairing A* (ARA*) Search.  Finds a first solution quickly with weighted A* (weight initialWeight),
+	 * then repeatedly lowers the weight and searches again, until the solution is known to be optimal or the budget
+	 * runs out.  Each search reuses the work of the previous ones: it only reexpands the States whose cost from the
+	 * start was lowered since they were last expanded, and ignores States that can't lead to a cheaper solution than
+	 * the best one found so far.  The heuristic should be consistent (for the suboptimality bounds to hold).
+	 * 
+	 * After each search, the listener (if not null) is given the best solution found so far and a bound on how far
+	 * from optimal it is: its cost is at most bound times the cost of an optimal solution.  The bound is the least of
+	 * the weight and the cost of the solution divided by the least g+h over the States not yet done, and is 1 once the
+	 * solution is optimal.  The weight of each search is half as far from 1 as the previous one (and no more than the
+	 * bound), and becomes 1 once it is within 0.05 of 1.  Always a graph search, whatever the SearchMode.
+	 * 
+	 * @param h A heuristic function. 
+	 * @param initialWeight The weight of the heuristic for the first search, at least 1.
+	 * @param maxExpansions The most States to expand, in total over all the searches.
+	 * @param timeLimitMillis The most time (milliseconds) to search.
+	 * @param listener Told of each improvement of the solution (may be null).
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state of the best solution found within the budget, and such that
+	 * following the backpointers will enable recovering the path from the Start to the Goal.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode ARAStarSearch(HeuristicFunction h, double initialWeight, long maxExpansions, long timeLimitMillis,
+			ImprovementListener listener, SearchStatistics stats) {
+		if (!(initialWeight >= 1)) throw new IllegalArgumentException("Weight must be at least 1.");
+		if (goalCheck(start)) {
+			SearchNode s = new SearchNode(start);
+			if (listener != null) listener.improved(s, 1);
+			return s;
+		}
+		long startTime = System.nanoTime();
+		long timeLimit = TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+
+		double w = initialWeight;
+		WeightedNode root = new WeightedNode(start, h.h(start));
+		PQ<WeightedNode> open = new PQ<WeightedNode>(new WeightedComparator(w));
+		open.offer(root);
+		// best path found so far to each State, expanded in this search, and expanded but since reached by a cheaper path
+		HashMap<State,WeightedNode> generated = new HashMap<State,WeightedNode>();
+		generated.put(start, root);
+		HashSet<State> closed = new HashSet<State>();
+		HashSet<State> inconsistent = new HashSet<State>();
+		WeightedNode solution = null;
+		long expansions = 0;
+		double reportedBound = Double.POSITIVE_INFINITY;
+		SearchNode reported = null;
+
+		while (true) {
+			// Weighted A*, until no State in open could lead to a cheaper solution at this weight.
+			boolean outOfBudget = false;
+			while (!open.isEmpty() && (solution == null || open.peek().getF(w) < solution.getG())) {
+				if (expansions >= maxExpansions || System.nanoTime() - startTime >= timeLimit) {
+					outOfBudget = true;
+					break;
+				}
+				WeightedNode s = open.poll();
+				closed.add(s.getState());
+				stats.expanded();
+				expansions++;
+				SuccessorIterator succs = s.getState().successorIterator();
+				while (succs.hasNext()) {
+					State e = succs.next();
+					stats.generated();
+					WeightedNode old = generated.get(e);
+					if (old != null && s.getG() + succs.getCost() >= old.getG()) {
+						stats.duplicate();
+						continue;
+					}
+					WeightedNode eS = new WeightedNode(e, s, succs.getCost(), (old == null) ? h.h(e) : old.h);
+					generated.put(e, eS);
+					if (goalCheck(e)) {
+						// the Goal is never expanded: its cost from the start is the cost of the solution
+						solution = eS;
+					} else if (solution != null && eS.getG() + eS.h >= solution.getG()) {
+						// can't lead to a cheaper solution
+						continue;
+					} else if (!closed.contains(e)) {
+						open.offer(eS);
+						stats.frontierSize(open.size());
+					} else {
+						inconsistent.add(e);
 					}
 				}
 			}
+			if (solution == null) return null;
+
+			// Every cheaper solution passes through a State in open or inconsistent with an optimal g, so the least
+			// g+h of those States is a lower bound on the cost of an optimal solution.
+			double lowerBound = Double.POSITIVE_INFINITY;
+			for (WeightedNode n : open) {
+				lowerBound = Math.min(lowerBound, n.getG() + n.h);
+			}
+			for (State e : inconsistent) {
+				WeightedNode n = generated.get(e);
+				lowerBound = Math.min(lowerBound, n.getG() + n.h);
+			}
+			double bound = Math.max(1, solution.getG() / lowerBound);
+			// the weight only bounds the solution if this search finished
+			if (!outOfBudget) bound = Math.min(bound, w);
+			if (listener != null && (solution != reported || bound < reportedBound)) {
+				listener.improved(solution, bound);
+				reported = solution;
+				reportedBound = bound;
+			}
+			if (outOfBudget || bound <= 1) return solution;
+
+			// Next search: lower weight, and the States in open and inconsistent, other than those that can't lead
+			// to a cheaper solution, are its open States.
+			w = Math.min(bound, 1 + (w - 1) / 2);
+			if (w - 1 < 0.05) w = 1;
+			PQ<WeightedNode> next = new PQ<WeightedNode>(new WeightedComparator(w));
+			for (WeightedNode n : open) {
+				if (n.getG() + n.h < solution.getG()) next.offer(n);
+			}
+			for (State e : inconsistent) {
+				WeightedNode n = generated.get(e);
+				if (n.getG() + n.h < solution.getG()) next.offer(n);
+			}
+			open = next;
+			stats.frontierSize(open.size());
+			inconsistent.clear();
+			closed.clear();
+		}
+	}
+
+
+	/*
+	 * Node of weighted A* and ARA*.  Keeps the heuristic value of its State, so that it is only computed once per State,
+	 * and so that ARA* can reorder the open States for a new weight.
+	 */
+	private static class WeightedNode extends SearchNode {
+		private final int h;
+
+		WeightedNode(State state, int h) {
+			super(state);
+			this.h = h;
+		}
+
+		WeightedNode(State state, WeightedNode back, int cost, int h) {
+			super(state, back, cost);
+			this.h = h;
+		}
+
+		double getF(double w) {
+			return getG() + w * h;
+		}
+	}
+
+
+	/*
+	 * Compares WeightedNodes by f = g + w*h, breaking ties in favor of the greater g (the State nearer the goal).
+	 */
+	private static class WeightedComparator implements Comparator<WeightedNode> {
+		private final double w;
+
+		WeightedComparator(double w) {
+			this.w = w;
+		}
+
+		@Override
+		public int compare(WeightedNode o1, WeightedNode o2) {
+			int c = Double.compare(o1.getF(w), o2.getF(w));
+			return (c != 0) ? c : o2.getG() - o1.getG();
+		}
+	}
+
+
+	/**
+	 * Iterative Deepening A* Search.  Repeats a depth first search (path checking) that ignores any State whose
+	 * f value (cost from the start plus heuristic) exceeds a bound.  The first bound is h(start), and each following
+	 * bound is the least f value that exceeded the previous one.  Memory is linear in the length of the path, and the
+	 * explicit stack is reused by every iteration.  Always a tree search, whatever the SearchMode.
+	 * 
+	 * @param h The heuristic function, which must be admissible for the solution to be optimal.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode IDAStarSearch(HeuristicFunction h) {
+		return IDAStarSearch(h, new SearchStatistics());
+	}
+
+
+	/**
+	 * Iterative Deepening A* Search.  Repeats a depth first search (path checking) that ignores any State whose
+	 * f value (cost from the start plus heuristic) exceeds a bound.  The first bound is h(start), and each following
+	 * bound is the least f value that exceeded the previous one.  Memory is linear in the length of the path, and the
+	 * explicit stack is reused by every iteration.  Always a tree search, whatever the SearchMode.
+	 * 
+	 * @param h The heuristic function, which must be admissible for the solution to be optimal.
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode IDAStarSearch(HeuristicFunction h, SearchStatistics stats) {
+		if (goalCheck(start)) 
+			return new SearchNode(start);
+
+		DFSPath path = new DFSPath();
+		int[] nextBound = new int[1];
+		int bound = h.h(start);
+		while (true) {
+			SearchNode s = costLimitedDFS(h, bound, stats, nextBound, path);
+			if (s != null) return s;
+			if (nextBound[0] == Integer.MAX_VALUE) return null;
+			bound = nextBound[0];
 		}
+	}
+
 
+	/*
+	 * One iteration of IDA*.  Sets nextBound[0] to the least f value greater than bound (or Integer.MAX_VALUE if
+	 * nothing was cut off).  A State is only goal checked if its f value is within the bound, which, with an
+	 * admissible heuristic, is never more than the optimal cost.
+	 */
+	private SearchNode costLimitedDFS(HeuristicFunction h, int bound, SearchStatistics stats, int[] nextBound, DFSPath path) {
+		nextBound[0] = Integer.MAX_VALUE;
+		path.clear();
+
+		path.seen.add(start);
+		path.push(start, 0);
+		stats.expanded();
+		while(!path.isEmpty()){
+			SuccessorIterator succs = path.topSuccessors();
+			if (!succs.hasNext()) {
+				path.seen.remove(path.pop());
+				continue;
+			}
+			State e = succs.next();
+			stats.generated();
+			if (path.seen.contains(e)) {
+				stats.duplicate();
+				continue;
+			}
+			int g = path.topG() + succs.getCost();
+			int f = g + h.h(e);
+			if (f > bound) {
+				if (f < nextBound[0]) nextBound[0] = f;
+			} else if (goalCheck(e)) {
+				return path.toSearchNode(e, succs.getCost());
+			} else {
+				path.seen.add(e);
+				path.push(e, g);
+				stats.expanded();
+				stats.frontierSize(path.size());
+			}
+		}
 		return null;
 	}
+
+
+	/*
+	 * bfs with the search nodes in a NodePool.  Nodes are added to the pool in the order a FIFO queue would return
+	 * them, so the frontier is simply the nodes that haven't been expanded yet, and no queue is needed.
+	 */
+	private SearchNode pooledBFS(SearchStatistics stats) {
+		boolean graphSearch = graphSearch(true);
+		NodePool nodes = new NodePool();
+		nodes.register(nodes.add(start, -1, 0, 0));
+
+		for (int next = 0; next < nodes.size(); next++) {
+			stats.expanded();
+			SuccessorIterator succs = nodes.getState(next).successorIterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
+				int g = nodes.getG(next) + succs.getCost();
+				if (goalCheck(e)) {
+					return nodes.toSearchNode(nodes.add(e, next, g, g));
+				} else if (graphSearch && nodes.find(e) >= 0) {
+					stats.duplicate();
+				} else {
+					int n = nodes.add(e, next, g, g);
+					if (graphSearch) nodes.register(n);
+					stats.frontierSize(nodes.size() - next - 1);
+				}
+			}
+		}
+		return null;
+	}
+
+
+	/*
+	 * Uniform cost search (h == null) or A* search with the search nodes in a NodePool, and the frontier a heap of
+	 * node handles.  In graph search mode there is one node per State, registered in the pool, and finding a cheaper
+	 * path to a State updates its node in place (lowering its priority in the heap, or putting it back in the heap
+	 * if it was already expanded).  In tree search mode every generated State gets a new node.
+	 */
+	private SearchNode pooledBestFirst(HeuristicFunction h, SearchStatistics stats) {
+		boolean graphSearch = graphSearch(true);
+		NodePool nodes = new NodePool();
+		IndexedIntHeap frontier = new IndexedIntHeap(1024, 4);
+		BitSet expanded = new BitSet();
+
+		int root = nodes.add(start, -1, 0, (h == null) ? 0 : h.h(start));
+		if (graphSearch) nodes.register(root);
+		frontier.offer(root, nodes.getF(root));
+
+		while (!frontier.isEmpty()) {
+			int n = frontier.poll();
+			State s = nodes.getState(n);
+			if (goalCheck(s)) return nodes.toSearchNode(n);
+			stats.expanded();
+			expanded.set(n);
+			SuccessorIterator succs = s.successorIterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
+				int g = nodes.getG(n) + succs.getCost();
+				int old = graphSearch ? nodes.find(e) : -1;
+				if (old < 0) {
+					int c = nodes.add(e, n, g, g + ((h == null) ? 0 : h.h(e)));
+					if (graphSearch) nodes.register(c);
+					frontier.offer(c, nodes.getF(c));
+					stats.frontierSize(frontier.size());
+				} else if (g < nodes.getG(old)) {
+					// same State, so same heuristic value
+					nodes.set(old, n, g, g + nodes.getF(old) - nodes.getG(old));
+					frontier.offer(old, nodes.getF(old));
+					stats.frontierSize(frontier.size());
+					if (expanded.get(old)) {
+						expanded.clear(old);
+						stats.reopened();
+					}
+				} else {
+					stats.duplicate();
+				}
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Bidirectional Breadth First Search.  Alternates between expanding a whole level forward from the start
+	 * and a whole level backward from the goal (whichever frontier is smaller), until the two searches meet.
+	 * Requires an explicit goal state, and States that support getPredecessors.
+	 * 
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode bidirectionalBFS() {
+		return bidirectionalBFS(new SearchStatistics());
+	}
+
+
+	/**
+	 * Bidirectional Breadth First Search.  Alternates between expanding a whole level forward from the start
+	 * and a whole level backward from the goal (whichever frontier is smaller), until the two searches meet.
+	 * Requires an explicit goal state, and States that support getPredecessors.
+	 * 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode bidirectionalBFS(SearchStatistics stats) {
+		if (goal == null) throw new IllegalStateException("Bidirectional search requires an explicit goal state.");
+		if (goalCheck(start)) 
+			return new SearchNode(start);
+
+		HashMap<State,BidirectionalNode> forward = new HashMap<State,BidirectionalNode>();
+		HashMap<State,BidirectionalNode> backward = new HashMap<State,BidirectionalNode>();
+		ArrayDeque<BidirectionalNode> forwardFrontier = new ArrayDeque<BidirectionalNode>();
+		ArrayDeque<BidirectionalNode> backwardFrontier = new ArrayDeque<BidirectionalNode>();
+		BidirectionalNode s = new BidirectionalNode(start, 0, null);
+		forward.put(start, s);
+		forwardFrontier.add(s);
+		s = new BidirectionalNode(goal, 0, null);
+		backward.put(goal, s);
+		backwardFrontier.add(s);
+
+		while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+			boolean isForward = forwardFrontier.size() <= backwardFrontier.size();
+			ArrayDeque<BidirectionalNode> frontier = isForward ? forwardFrontier : backwardFrontier;
+			HashMap<State,BidirectionalNode> visited = isForward ? forward : backward;
+			HashMap<State,BidirectionalNode> other = isForward ? backward : forward;
+
+			// Expand the whole level, and keep the best meeting point found.
+			BidirectionalNode meetHere = null;
+			BidirectionalNode meetOther = null;
+			for (int i = frontier.size(); i > 0; i--) {
+				s = frontier.poll();
+				stats.expanded();
+				Iterator<State> succs = isForward ? s.getState().successorIterator() : s.getState().getPredecessors().iterator();
+				while (succs.hasNext()) {
+					State e = succs.next();
+					stats.generated();
+					if (visited.containsKey(e)) {
+						stats.duplicate();
+						continue;
+					}
+					BidirectionalNode eNode = new BidirectionalNode(e, s.d + 1, s);
+					visited.put(e, eNode);
+					frontier.add(eNode);
+					stats.frontierSize(forwardFrontier.size() + backwardFrontier.size());
+					BidirectionalNode o = other.get(e);
+					if (o != null && (meetHere == null || eNode.d + o.d < meetHere.d + meetOther.d)) {
+						meetHere = eNode;
+						meetOther = o;
+					}
+				}
+			}
+			if (meetHere != null) {
+				return isForward ? joinPath(meetHere, meetOther) : joinPath(meetOther, meetHere);
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Bidirectional Uniform Cost Search (bidirectional Dijkstra).  Alternately expands forward from the start and
+	 * backward from the goal (whichever frontier has the lower g), keeping track of the least cost path through any state
+	 * reached by both searches.  Stops when the sum of the lowest g values of the two frontiers is at least the cost of that
+	 * path, at which point it is a least cost path.  Requires an explicit goal state, and States that support getPredecessors.
+	 * 
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode bidirectionalUniformCostSearch() {
+		return bidirectionalUniformCostSearch(new SearchStatistics());
+	}
+
+
+	/**
+	 * Bidirectional Uniform Cost Search (bidirectional Dijkstra).  Alternately expands forward from the start and
+	 * backward from the goal (whichever frontier has the lower g), keeping track of the least cost path through any state
+	 * reached by both searches.  Stops when the sum of the lowest g values of the two frontiers is at least the cost of that
+	 * path, at which point it is a least cost path.  Requires an explicit goal state, and States that support getPredecessors.
+	 * 
+	 * @param stats Statistics object in which to record the work done by the search.
+	 * @return A SearchNode containing the Goal state and such that following the
+	 * backpointers will enable recovering the path from the Start to the Goal.
+	 * Obviously, the backpointers will give us that path backwards.
+	 * Returns null if the Goal was not found.
+	 */
+	public SearchNode bidirectionalUniformCostSearch(SearchStatistics stats) {
+		if (goal == null) throw new IllegalStateException("Bidirectional search requires an explicit goal state.");
+		if (goalCheck(start)) 
+			return new SearchNode(start);
+
+		Comparator<BidirectionalNode> comparator = new Comparator<BidirectionalNode>() {
+			@Override
+			public int compare(BidirectionalNode o1, BidirectionalNode o2) {
+				return o1.d - o2.d;
+			}
+		};
+		HashMap<State,BidirectionalNode> forward = new HashMap<State,BidirectionalNode>();
+		HashMap<State,BidirectionalNode> backward = new HashMap<State,BidirectionalNode>();
+		PQ<BidirectionalNode> forwardFrontier = new PQ<BidirectionalNode>(comparator);
+		PQ<BidirectionalNode> backwardFrontier = new PQ<BidirectionalNode>(comparator);
+		BidirectionalNode s = new BidirectionalNode(start, 0, null);
+		forward.put(start, s);
+		forwardFrontier.offer(s);
+		s = new BidirectionalNode(goal, 0, null);
+		backward.put(goal, s);
+		backwardFrontier.offer(s);
+
+		BidirectionalNode meetForward = null;
+		BidirectionalNode meetBackward = null;
+		int best = Integer.MAX_VALUE;
+
+		while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()
+				&& (long)forwardFrontier.peek().d + backwardFrontier.peek().d < best) {
+			boolean isForward = forwardFrontier.peek().d <= backwardFrontier.peek().d;
+			PQ<BidirectionalNode> frontier = isForward ? forwardFrontier : backwardFrontier;
+			HashMap<State,BidirectionalNode> visited = isForward ? forward : backward;
+			HashMap<State,BidirectionalNode> other = isForward ? backward : forward;
+
+			s = frontier.poll();
+			stats.expanded();
+			SuccessorIterator forwardSuccs = isForward ? s.getState().successorIterator() : null;
+			Iterator<State> succs = isForward ? forwardSuccs : s.getState().getPredecessors().iterator();
+			while (succs.hasNext()) {
+				State e = succs.next();
+				stats.generated();
+				int cost = isForward ? forwardSuccs.getCost() : e.getTransitionCost(s.getState());
+				BidirectionalNode old = visited.get(e);
+				if (old != null && old.d <= s.d + cost) {
+					stats.duplicate();
+					continue;
+				}
+				BidirectionalNode eNode = new BidirectionalNode(e, s.d + cost, s);
+				visited.put(e, eNode);
+				frontier.offer(eNode);
+				stats.frontierSize(forwardFrontier.size() + backwardFrontier.size());
+				BidirectionalNode o = other.get(e);
+				if (o != null && eNode.d + o.d < best) {
+					best = eNode.d + o.d;
+					meetForward = isForward ? eNode : o;
+					meetBackward = isForward ? o : eNode;
+				}
+			}
+		}
+		return (meetForward == null) ? null : joinPath(meetForward, meetBackward);
+	}
+
+
+	/*
+	 * Node of a bidirectional search.  In the forward search, link points toward the start and d is the cost from the start.
+	 * In the backward search, link points toward the goal and d is the cost to the goal.  Extends SearchNode only so that it
+	 * can be kept in a PQ; the backpointer and g of the SearchNode are not used.
+	 */
+	private static class BidirectionalNode extends SearchNode {
+		private final int d;
+		private final BidirectionalNode link;
+
+		BidirectionalNode(State state, int d, BidirectionalNode link) {
+			super(state);
+			this.d = d;
+			this.link = link;
+		}
+	}
+
+
+	/*
+	 * Helper method for bidirectional search.  Builds the path from the start to the goal through the state where the
+	 * forward and backward searches met.
+	 */
+	private static SearchNode joinPath(BidirectionalNode meetForward, BidirectionalNode meetBackward) {
+		Stack<State> toStart = new Stack<State>();
+		for (BidirectionalNode n = meetForward; n != null; n = n.link) {
+			toStart.push(n.getState());
+		}
+		SearchNode path = new SearchNode(toStart.pop());
+		while (!toStart.isEmpty()) {
+			path = new SearchNode(toStart.pop(), path);
+		}
+		for (BidirectionalNode n = meetBackward.link; n != null; n = n.link) {
+			path = new SearchNode(n.getState(), path);
+		}
+		return path;
+	}
+
+
+	/*
+	 * Helper method for constructing the frontier for uniform cost search and A* search.
+	 */
+	private <E extends SearchNode> Queue<E> newFrontier(FrontierType frontierType, Comparator<? super E> comparator, ToIntFunction<? super E> priority) {
+		switch (frontierType) {
+		case DARY_HEAP:
+			return new DaryPQ<E>(priority, heapArity);
+		case BUCKET_QUEUE:
+			return new BucketPQ<E>(priority, getMaxTransitionCost());
+		default:
+			return new PQ<E>(comparator);
+		}
+	}
 }
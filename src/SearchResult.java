@@ -0,0 +1,53 @@
+/**
+ * The result of solving a search problem: the solution, and statistics about the search.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class SearchResult {
+
+	private final SearchNode solution;
+	private final SearchStatistics stats;
+	private final long cpuTime;
+
+	/**
+	 * Constructs a search result.
+	 *
+	 * @param solution The SearchNode containing the goal, or null if no solution was found.
+	 * @param stats The statistics of the search.
+	 * @param cpuTime The CPU time used by the search, in nanoseconds.
+	 */
+	public SearchResult(SearchNode solution, SearchStatistics stats, long cpuTime) {
+		this.solution = solution;
+		this.stats = stats;
+		this.cpuTime = cpuTime;
+	}
+
+	/**
+	 * Gets the solution.
+	 *
+	 * @return A SearchNode containing the Goal state (following the backpointers gives the path from the Start),
+	 * or null if the Goal was not found.
+	 */
+	public SearchNode getSolution() {
+		return solution;
+	}
+
+	/**
+	 * Gets the statistics of the search.
+	 *
+	 * @return the statistics
+	 */
+	public SearchStatistics getStatistics() {
+		return stats;
+	}
+
+	/**
+	 * Gets the CPU time used by the search.
+	 *
+	 * @return CPU time in nanoseconds
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+}
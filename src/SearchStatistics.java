@@ -0,0 +1,120 @@
+/**
+ * Statistics about a single run of a search algorithm.  The SearchProblem search methods
+ * that take a SearchStatistics object record what they do in it, so each search (even
+ * searches running concurrently on different threads) has its own numbers.
+ *
+ * A SearchStatistics object is not thread safe: it should be populated by one search at a time, and
+ * read after that search returns.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class SearchStatistics {
+
+	private long expanded;
+	private long generated;
+	private long duplicates;
+	private long reopened;
+	private long maxFrontierSize;
+
+	/**
+	 * Gets the number of expanded states (i.e., states whose successors were generated).
+	 *
+	 * @return Number of expanded states.
+	 */
+	public long getNumExpandedStates() {
+		return expanded;
+	}
+
+	/**
+	 * Gets the number of generated states (i.e., successors produced by expansions).
+	 *
+	 * @return Number of generated states.
+	 */
+	public long getNumGeneratedStates() {
+		return generated;
+	}
+
+	/**
+	 * Gets the number of generated states that were discarded because they were already
+	 * visited (or already on the current path, for path checking DFS), and no better than before.
+	 *
+	 * @return Number of pruned duplicates.
+	 */
+	public long getNumDuplicatesPruned() {
+		return duplicates;
+	}
+
+	/**
+	 * Gets the number of states that were put back on the frontier after they were expanded, because
+	 * a less costly path to them was found (e.g., by A* search with an inconsistent heuristic).
+	 *
+	 * @return Number of reopened states.
+	 */
+	public long getNumReopenedStates() {
+		return reopened;
+	}
+
+	/**
+	 * Gets the largest size the frontier reached.
+	 *
+	 * @return The frontier high water mark.
+	 */
+	public long getMaxFrontierSize() {
+		return maxFrontierSize;
+	}
+
+	/**
+	 * Resets all statistics to 0.
+	 */
+	public void reset() {
+		expanded = 0;
+		generated = 0;
+		duplicates = 0;
+		reopened = 0;
+		maxFrontierSize = 0;
+	}
+
+	/**
+	 * Adds the statistics of another search to these.  The frontier high water mark is the larger of the two.
+	 *
+	 * @param other The other statistics.
+	 */
+	public void add(SearchStatistics other) {
+		expanded += other.expanded;
+		generated += other.generated;
+		duplicates += other.duplicates;
+		reopened += other.reopened;
+		maxFrontierSize = Math.max(maxFrontierSize, other.maxFrontierSize);
+	}
+
+	/*
+	 * Recording methods, used by the search algorithms.
+	 */
+
+	void expanded() {
+		expanded++;
+	}
+
+	void generated() {
+		generated++;
+	}
+
+	void duplicate() {
+		duplicates++;
+	}
+
+	void reopened() {
+		reopened++;
+	}
+
+	void frontierSize(int size) {
+		if (size > maxFrontierSize) maxFrontierSize = size;
+	}
+
+	@Override
+	public String toString() {
+		return "Expanded: " + expanded + ", Generated: " + generated + ", Duplicates pruned: " + duplicates
+				+ ", Reopened: " + reopened + ", Max frontier: " + maxFrontierSize;
+	}
+}
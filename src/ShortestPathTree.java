@@ -0,0 +1,230 @@
+import java.util.Arrays;
+
+/**
+ * Least cost paths from one source node (or a set of source nodes) to every node of a graph, computed in a
+ * single search: Dijkstra's algorithm, or breadth first search if every edge costs 1.  The results are kept
+ * in primitive arrays indexed by node id: the cost of the least cost path from the nearest source, the parent of
+ * each node on that path, and the source it starts from.
+ *
+ * To get least cost paths to a target node instead, build the tree of the target in the reverse graph
+ * (graph.getReverse()).
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class ShortestPathTree {
+
+	/**
+	 * The distance of a node that can't be reached from any source.
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	private final Graph graph;
+	private final int[] distance;
+	private final int[] parent;
+	private final int[] root;
+	private final int numReached;
+
+	private ShortestPathTree(Graph graph, int[] sources) {
+		this.graph = graph;
+		int N = graph.getNumNodes();
+		if (sources.length < 1) throw new IllegalArgumentException("Must have at least 1 source.");
+		distance = new int[N];
+		parent = new int[N];
+		root = new int[N];
+		Arrays.fill(distance, UNREACHABLE);
+		Arrays.fill(parent, -1);
+		Arrays.fill(root, -1);
+		numReached = unitCosts(graph) ? bfs(sources) : dijkstra(sources);
+	}
+
+	/**
+	 * Computes the least cost paths from a source node to every node.
+	 *
+	 * @param graph The graph.
+	 * @param source The id of the source node.
+	 * @return the shortest path tree
+	 */
+	public static ShortestPathTree from(Graph graph, int source) {
+		return new ShortestPathTree(graph, new int[] { source });
+	}
+
+	/**
+	 * Computes the least cost paths from a set of source nodes to every node: each node is reached from the
+	 * source nearest to it (as if there were a node with an edge of cost 0 to every source).
+	 *
+	 * @param graph The graph.
+	 * @param sources The ids of the source nodes.
+	 * @return the shortest path forest
+	 */
+	public static ShortestPathTree fromSources(Graph graph, int... sources) {
+		return new ShortestPathTree(graph, sources.clone());
+	}
+
+	private static boolean unitCosts(Graph graph) {
+		int N = graph.getNumNodes();
+		for (int v = 0; v < N; v++) {
+			int degree = graph.getOutDegree(v);
+			for (int k = 0; k < degree; k++) {
+				if (graph.getNeighborCost(v, k) != 1) return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Breadth first search from the sources.  Returns the number of nodes reached.
+	 */
+	private int bfs(int[] sources) {
+		int[] queue = new int[graph.getNumNodes()];
+		int tail = 0;
+		for (int s : sources) {
+			if (distance[s] == 0) continue;
+			distance[s] = 0;
+			root[s] = s;
+			queue[tail++] = s;
+		}
+		for (int head = 0; head < tail; head++) {
+			int s = queue[head];
+			int ds = distance[s] + 1;
+			int degree = graph.getOutDegree(s);
+			for (int k = 0; k < degree; k++) {
+				int e = graph.getNeighbor(s, k);
+				if (distance[e] == UNREACHABLE) {
+					distance[e] = ds;
+					parent[e] = s;
+					root[e] = root[s];
+					queue[tail++] = e;
+				}
+			}
+		}
+		return tail;
+	}
+
+	/*
+	 * Dijkstra's algorithm from the sources.  Returns the number of nodes reached.
+	 */
+	private int dijkstra(int[] sources) {
+		IndexedIntHeap heap = new IndexedIntHeap(graph.getNumNodes(), 4);
+		for (int s : sources) {
+			distance[s] = 0;
+			root[s] = s;
+			heap.offer(s, 0);
+		}
+		int reached = 0;
+		while (!heap.isEmpty()) {
+			int s = heap.poll();
+			reached++;
+			int ds = distance[s];
+			int degree = graph.getOutDegree(s);
+			for (int k = 0; k < degree; k++) {
+				int e = graph.getNeighbor(s, k);
+				long de = (long)ds + graph.getNeighborCost(s, k);
+				if (de < distance[e]) {
+					distance[e] = (int)de;
+					parent[e] = s;
+					root[e] = root[s];
+					heap.offer(e, distance[e]);
+				}
+			}
+		}
+		return reached;
+	}
+
+	/**
+	 * Gets the graph.
+	 *
+	 * @return the graph
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Gets the number of nodes that can be reached from the sources (including the sources).
+	 *
+	 * @return the number of reachable nodes
+	 */
+	public int getNumReachable() {
+		return numReached;
+	}
+
+	/**
+	 * Gets the cost of the least cost path to a node.
+	 *
+	 * @param nodeID The node id.
+	 * @return the cost of the least cost path from the nearest source, or UNREACHABLE
+	 */
+	public int getDistance(int nodeID) {
+		return distance[nodeID];
+	}
+
+	/**
+	 * Checks if a node can be reached.
+	 *
+	 * @param nodeID The node id.
+	 * @return true if there is a path to the node from a source
+	 */
+	public boolean isReachable(int nodeID) {
+		return distance[nodeID] != UNREACHABLE;
+	}
+
+	/**
+	 * Gets the parent of a node, i.e., the node before it on its least cost path.
+	 *
+	 * @param nodeID The node id.
+	 * @return the id of the parent, or -1 if the node is a source or unreachable
+	 */
+	public int getParent(int nodeID) {
+		return parent[nodeID];
+	}
+
+	/**
+	 * Gets the source a node is reached from.
+	 *
+	 * @param nodeID The node id.
+	 * @return the id of the nearest source, or -1 if the node is unreachable
+	 */
+	public int getRoot(int nodeID) {
+		return root[nodeID];
+	}
+
+	/**
+	 * Gets the distances of all nodes.  The array is used directly (not copied), so it must not be changed.
+	 *
+	 * @return array of the cost of the least cost path to each node, UNREACHABLE for unreachable nodes
+	 */
+	public int[] getDistances() {
+		return distance;
+	}
+
+	/**
+	 * Gets the parents of all nodes.  The array is used directly (not copied), so it must not be changed.
+	 *
+	 * @return array of the parent of each node, -1 for sources and unreachable nodes
+	 */
+	public int[] getParents() {
+		return parent;
+	}
+
+	/**
+	 * Gets the least cost path to a node.
+	 *
+	 * @param nodeID The node id.
+	 * @return A SearchNode containing the node (as a SimpleGraphSearchState whose start is the source of its path
+	 * and whose goal is the node), such that following the backpointers gives the path from the source.  Returns
+	 * null if the node is unreachable.
+	 */
+	public SearchNode pathTo(int nodeID) {
+		if (!isReachable(nodeID)) return null;
+		int length = 0;
+		for (int v = nodeID; parent[v] >= 0; v = parent[v]) length++;
+		int[] path = new int[length+1];
+		int v = nodeID;
+		for (int i = length; i >= 0; i--) {
+			path[i] = v;
+			v = parent[v];
+		}
+		return GraphSearchEngine.toSearchNodes(graph, path[0], nodeID, path);
+	}
+}
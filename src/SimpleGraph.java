@@ -1,4 +1,6 @@
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 /**
  * A simple representation of a directed graph.
@@ -9,9 +11,12 @@ import java.util.Random;
  *
  */
 
-public class SimpleGraph {
+public class SimpleGraph implements Graph {
 	
-	private int[][] graph;
+	// Number of rows generated by one task.
+	private static final int BLOCK_SIZE = 4096;
+	
+	private Graph graph;
 	
 	/**
 	 * Constructs a 10 node graph with edge density 0.5 and all edge costs equal to 1.
@@ -40,18 +45,62 @@ public class SimpleGraph {
 	}
 	
 	/**
-	 * Constructs a graph.
+	 * Constructs a graph, stored in compressed sparse row form.
 	 * 
 	 * @param numNodes The number of nodes.
 	 * @param edgeDensity the edge density, should be between 0 and 1.
 	 * @param costsAllSame if true, all edge costs are 1 otherwise, selected randomly from [1,20]
 	 */
 	public SimpleGraph(int numNodes, double edgeDensity, boolean costsAllSame)  {
+		this(numNodes, edgeDensity, costsAllSame, false);
+	}
+	
+	/**
+	 * Constructs a graph.
+	 * 
+	 * @param numNodes The number of nodes.
+	 * @param edgeDensity the edge density, should be between 0 and 1.
+	 * @param costsAllSame if true, all edge costs are 1 otherwise, selected randomly from [1,20]
+	 * @param denseMatrix if true, the graph is stored as an adjacency matrix (only sensible for
+	 * 						small dense graphs), otherwise in compressed sparse row form.
+	 */
+	public SimpleGraph(int numNodes, double edgeDensity, boolean costsAllSame, boolean denseMatrix)  {
+		this(numNodes, edgeDensity, costsAllSame, denseMatrix, new SplittableRandom().nextLong());
+	}
+	
+	/**
+	 * Constructs a graph, stored in compressed sparse row form.  The same seed always gives the same graph.
+	 * 
+	 * @param numNodes The number of nodes.
+	 * @param edgeDensity the edge density, should be between 0 and 1.
+	 * @param costsAllSame if true, all edge costs are 1 otherwise, selected randomly from [1,20]
+	 * @param seed The seed for the random number generator.
+	 */
+	public SimpleGraph(int numNodes, double edgeDensity, boolean costsAllSame, long seed)  {
+		this(numNodes, edgeDensity, costsAllSame, false, seed);
+	}
+	
+	/**
+	 * Constructs a graph.  The same seed always gives the same graph.
+	 * 
+	 * A random spanning tree makes every node reachable from one of them, and every other pair of nodes gets an edge
+	 * with the probability needed for the given density.  Rather than flipping a coin for each of the N^2 pairs, the
+	 * gaps between the extra edges of each row are drawn from the geometric distribution, so the time is proportional
+	 * to the number of edges.  Rows are generated in blocks in parallel, each block with its own generator split off
+	 * the seeded one in order, so the graph doesn't depend on the number of threads or their timing.
+	 * 
+	 * @param numNodes The number of nodes.
+	 * @param edgeDensity the edge density, should be between 0 and 1.
+	 * @param costsAllSame if true, all edge costs are 1 otherwise, selected randomly from [1,20]
+	 * @param denseMatrix if true, the graph is stored as an adjacency matrix (only sensible for
+	 * 						small dense graphs), otherwise in compressed sparse row form.
+	 * @param seed The seed for the random number generator.
+	 */
+	public SimpleGraph(int numNodes, double edgeDensity, boolean costsAllSame, boolean denseMatrix, long seed)  {
 		if (numNodes < 1) throw new IllegalArgumentException("Must have at least 1 node!");
 		if (edgeDensity < 0 || edgeDensity > 1) throw new IllegalArgumentException("Edge density out of range.");
 		
-		Random gen = new Random();
-		graph = new int[numNodes][numNodes];
+		SplittableRandom gen = new SplittableRandom(seed);
 		
 		int[] nodes = new int[numNodes];
 		for (int i = 0; i < numNodes; i++) {
@@ -66,43 +115,138 @@ public class SimpleGraph {
 			}
 		}
 		
-		graph[nodes[0]][nodes[1]] = (costsAllSame) ? 1 : gen.nextInt(20) + 1;
+		// Random spanning tree to ensure every node is reachable from nodes[0].
+		// Stored as each node's parent, and then grouped by parent (in increasing order within each group).
+		int[] treeParent = new int[numNodes];
+		int[] treeCost = new int[numNodes];
+		treeParent[nodes[0]] = -1;
+		if (numNodes > 1) {
+			treeParent[nodes[1]] = nodes[0];
+			treeCost[nodes[1]] = (costsAllSame) ? 1 : gen.nextInt(20) + 1;
+		}
 		for (int i = 2; i < numNodes; i++) {
 			int which = gen.nextInt(i);
-			graph[nodes[which]][nodes[i]] = (costsAllSame) ? 1 : gen.nextInt(20) + 1;
+			treeParent[nodes[i]] = nodes[which];
+			treeCost[nodes[i]] = (costsAllSame) ? 1 : gen.nextInt(20) + 1;
+		}
+		int[] childStart = new int[numNodes+1];
+		for (int i = 0; i < numNodes; i++) {
+			if (treeParent[i] >= 0) childStart[treeParent[i]+1]++;
+		}
+		for (int i = 0; i < numNodes; i++) {
+			childStart[i+1] += childStart[i];
+		}
+		int[] children = new int[numNodes];
+		int[] fill = childStart.clone();
+		for (int i = 0; i < numNodes; i++) {
+			if (treeParent[i] >= 0) children[fill[treeParent[i]]++] = i;
 		}
 		
-		int complete = (numNodes * (numNodes - 1));
-		int targetEdges = (int)Math.round(edgeDensity * complete);
+		long complete = ((long)numNodes * (numNodes - 1));
+		long targetEdges = Math.round(edgeDensity * complete);
+		double P = (targetEdges > (numNodes-1)) ? (targetEdges - numNodes + 1.0) / complete : 0.0;
+		
+		int numBlocks = (numNodes + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		SplittableRandom[] blockGen = new SplittableRandom[numBlocks];
+		for (int b = 0; b < numBlocks; b++) {
+			blockGen[b] = gen.split();
+		}
+		int[] offsets = new int[numNodes+1];
+		int[][] blockTargets = new int[numBlocks][];
+		int[][] blockCosts = new int[numBlocks][];
+		IntStream.range(0, numBlocks).parallel().forEach(b -> {
+			int[][] rows = generateRows(b * BLOCK_SIZE, Math.min(numNodes, (b+1) * BLOCK_SIZE), numNodes, P, costsAllSame,
+					blockGen[b], childStart, children, treeCost, offsets);
+			blockTargets[b] = rows[0];
+			blockCosts[b] = rows[1];
+		});
+		
+		// offsets[i+1] holds the out-degree of node i, so far
+		long m = 0;
+		for (int i = 0; i < numNodes; i++) {
+			m += offsets[i+1];
+			if (m > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many edges.");
+			offsets[i+1] = (int)m;
+		}
+		int[] targets = new int[(int)m];
+		int[] costs = new int[(int)m];
+		for (int b = 0; b < numBlocks; b++) {
+			int start = offsets[b * BLOCK_SIZE];
+			System.arraycopy(blockTargets[b], 0, targets, start, blockTargets[b].length);
+			System.arraycopy(blockCosts[b], 0, costs, start, blockCosts[b].length);
+		}
 		
-		if (targetEdges > (numNodes-1)) {
-			double P = (targetEdges - numNodes + 1.0) / complete;
-			for (int i = 0; i < numNodes; i++) {
-				for (int j = 0; j < numNodes; j++) {
-					if (i==j) continue;
-					if (graph[i][j] == 0) {
-						if (gen.nextDouble() < P) {
-							graph[i][j] = (costsAllSame) ? 1 : gen.nextInt(20) + 1;
-						}
-					}
+		CSRGraph csr = new CSRGraph(offsets, targets, costs);
+		graph = denseMatrix ? new DenseGraph(csr) : csr;
+	}
+	
+	/*
+	 * Generates the out-edges of nodes from through to-1, in CSR order: the spanning tree edges, plus every other edge
+	 * with probability P.  Stores the out-degree of each node i in degree[i+1], and returns the targets and the costs.
+	 */
+	private static int[][] generateRows(int from, int to, int numNodes, double P, boolean costsAllSame, SplittableRandom gen,
+			int[] childStart, int[] children, int[] treeCost, int[] degree) {
+		int capacity = (int)Math.min(Integer.MAX_VALUE - 8, (long)((to - from) * (P * (numNodes - 1) + 1.0)) + 16);
+		int[] targets = new int[capacity];
+		int[] costs = new int[capacity];
+		// Candidates for the extra edges of node i are numbered 0 to numNodes-2, skipping i itself.
+		long numCandidates = numNodes - 1;
+		double logQ = Math.log1p(-P);
+		int m = 0;
+		for (int i = from; i < to; i++) {
+			int rowStart = m;
+			int t = childStart[i];
+			long c = nextCandidate(-1, numCandidates, P, logQ, gen);
+			while (t < childStart[i+1] || c < numCandidates) {
+				int tree = (t < childStart[i+1]) ? children[t] : Integer.MAX_VALUE;
+				int extra = (c < numCandidates) ? (int)((c < i) ? c : c + 1) : Integer.MAX_VALUE;
+				if (m == targets.length) {
+					targets = Arrays.copyOf(targets, Math.min(Integer.MAX_VALUE - 8, 2 * m));
+					costs = Arrays.copyOf(costs, targets.length);
+				}
+				if (tree <= extra) {
+					targets[m] = tree;
+					costs[m] = treeCost[tree];
+					t++;
+					if (tree == extra) c = nextCandidate(c, numCandidates, P, logQ, gen);
+				} else {
+					targets[m] = extra;
+					costs[m] = (costsAllSame) ? 1 : gen.nextInt(20) + 1;
+					c = nextCandidate(c, numCandidates, P, logQ, gen);
 				}
+				m++;
 			}
+			degree[i+1] = m - rowStart;
 		}
+		return new int[][] { Arrays.copyOf(targets, m), Arrays.copyOf(costs, m) };
+	}
+	
+	/*
+	 * Skips to the next candidate that gets an edge, when each gets one with probability P: the gap is geometrically distributed.
+	 * Returns numCandidates if there are no more.
+	 */
+	private static long nextCandidate(long c, long numCandidates, double P, double logQ, SplittableRandom gen) {
+		if (P <= 0) return numCandidates;
+		if (P >= 1) return c + 1;
+		double skip = Math.floor(Math.log(1.0 - gen.nextDouble()) / logQ);
+		return (skip >= numCandidates - c) ? numCandidates : c + 1 + (long)skip;
 	}
 
 	/**
 	 * Generates a string representing the graph.  For each node, lists the adjacent nodes.
 	 */
 	public String toString() {
-		String result = "";
-		for (int i = 0; i < graph.length; i++) {
-			result += i + ":\t";
-			for (int j = 0; j < graph.length; j++) {
-				if (graph[i][j] != 0) result += "\t" + j;
+		StringBuilder result = new StringBuilder();
+		int N = graph.getNumNodes();
+		for (int i = 0; i < N; i++) {
+			result.append(i).append(":\t");
+			int degree = graph.getOutDegree(i);
+			for (int k = 0; k < degree; k++) {
+				result.append("\t").append(graph.getNeighbor(i, k));
 			}
-			result += "\n";
+			result.append("\n");
 		}
-		return result;
+		return result.toString();
 	}
 	
 	/**
@@ -112,15 +256,25 @@ public class SimpleGraph {
 	 * @param j node id
 	 * @return true if an edge exists from i to j
 	 */
+	@Override
 	public boolean isEdge(int i, int j) {
-		return graph[i][j] != 0;
+		return graph.isEdge(i, j);
 	}
 
 	/**
 	 * Gets number of nodes.
 	 */
+	@Override
 	public int getNumNodes() {
-		return graph.length;
+		return graph.getNumNodes();
+	}
+
+	/**
+	 * Gets number of edges.
+	 */
+	@Override
+	public int getNumEdges() {
+		return graph.getNumEdges();
 	}
 
 	/**
@@ -129,8 +283,32 @@ public class SimpleGraph {
 	 * @param nodeID2 Second node
 	 * @return Cost of transitioning from nodeID to nodeID2
 	 */
+	@Override
 	public int cost(int nodeID, int nodeID2) {
-		if (graph[nodeID][nodeID2] == 0) throw new IllegalArgumentException("No edge exists for given nodes.");
-		return graph[nodeID][nodeID2];
+		return graph.cost(nodeID, nodeID2);
+	}
+
+	@Override
+	public int getOutDegree(int nodeID) {
+		return graph.getOutDegree(nodeID);
+	}
+
+	@Override
+	public int getNeighbor(int nodeID, int k) {
+		return graph.getNeighbor(nodeID, k);
+	}
+
+	@Override
+	public int getNeighborCost(int nodeID, int k) {
+		return graph.getNeighborCost(nodeID, k);
+	}
+
+	/**
+	 * Gets the reverse graph, whose out-edges are the in-edges (predecessors) of this graph.
+	 * It is built the first time it is needed.
+	 */
+	@Override
+	public Graph getReverse() {
+		return graph.getReverse();
 	}
 }
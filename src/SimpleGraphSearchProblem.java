@@ -1,12 +1,19 @@
 /**
  * A simple search problem.  Search in a simple graph with a
- * single start state, a single goal state.
+ * single start state, a single goal state.  Both are given to
+ * SearchProblem explicitly, so bidirectional search can be used.
  * 
  * @author Vincent Cicirello
  * @version CSIS4463
  */
 public class SimpleGraphSearchProblem extends SearchProblem {
 
+	private final Graph graph;
+	private final int start;
+	private final int goal;
+	// the largest edge cost of the graph, or -1 until it is needed
+	private int maxCost = -1;
+
 	/**
 	 * Constructs a simple graph search problem.
 	 * 
@@ -17,8 +24,111 @@ public class SimpleGraphSearchProblem extends SearchProblem {
 	 * 						randomly between 1 and 20.
 	 */
 	public SimpleGraphSearchProblem(int numStates, double edgeDensity, boolean allTransitionCostsSame) {
-		super(new SimpleGraphSearchState(new SimpleGraph(numStates, edgeDensity, allTransitionCostsSame),0,numStates-1,0));
+		this(new SimpleGraph(numStates, edgeDensity, allTransitionCostsSame),0,numStates-1);
+	}
+	
+	/**
+	 * Constructs a simple graph search problem.
+	 * 
+	 * @param numStates Number of states.
+	 * @param edgeDensity Edge density (i.e., the probability that an edge exists between
+	 * 						any pair of states).  Must be between 0 and 1
+	 * @param allTransitionCostsSame if true, all transition costs will be 1, otherwise, will be selected
+	 * 						randomly between 1 and 20.
+	 * @param denseMatrix if true, the graph is stored as an adjacency matrix, otherwise in compressed sparse row form.
+	 */
+	public SimpleGraphSearchProblem(int numStates, double edgeDensity, boolean allTransitionCostsSame, boolean denseMatrix) {
+		this(new SimpleGraph(numStates, edgeDensity, allTransitionCostsSame, denseMatrix),0,numStates-1);
 	}
 	
+	/**
+	 * Constructs a simple graph search problem.  The same seed always gives the same problem.
+	 * 
+	 * @param numStates Number of states.
+	 * @param edgeDensity Edge density (i.e., the probability that an edge exists between
+	 * 						any pair of states).  Must be between 0 and 1
+	 * @param allTransitionCostsSame if true, all transition costs will be 1, otherwise, will be selected
+	 * 						randomly between 1 and 20.
+	 * @param seed The seed for generating the graph.
+	 */
+	public SimpleGraphSearchProblem(int numStates, double edgeDensity, boolean allTransitionCostsSame, long seed) {
+		this(new SimpleGraph(numStates, edgeDensity, allTransitionCostsSame, seed),0,numStates-1);
+	}
 	
+	/**
+	 * Constructs a simple graph search problem.  The same seed always gives the same problem.
+	 * 
+	 * @param numStates Number of states.
+	 * @param edgeDensity Edge density (i.e., the probability that an edge exists between
+	 * 						any pair of states).  Must be between 0 and 1
+	 * @param allTransitionCostsSame if true, all transition costs will be 1, otherwise, will be selected
+	 * 						randomly between 1 and 20.
+	 * @param denseMatrix if true, the graph is stored as an adjacency matrix, otherwise in compressed sparse row form.
+	 * @param seed The seed for generating the graph.
+	 */
+	public SimpleGraphSearchProblem(int numStates, double edgeDensity, boolean allTransitionCostsSame, boolean denseMatrix, long seed) {
+		this(new SimpleGraph(numStates, edgeDensity, allTransitionCostsSame, denseMatrix, seed),0,numStates-1);
+	}
+	
+	/**
+	 * Constructs a search problem over an existing graph.
+	 * 
+	 * @param graph The graph.
+	 * @param start The id of the start node.
+	 * @param goal The id of the goal node.
+	 */
+	public SimpleGraphSearchProblem(Graph graph, int start, int goal) {
+		super(new SimpleGraphSearchState(graph,start,goal,start), new SimpleGraphSearchState(graph,start,goal,goal));
+		this.graph = graph;
+		this.start = start;
+		this.goal = goal;
+	}
+	
+	/**
+	 * Gets the graph.
+	 * 
+	 * @return the graph
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+	
+	/**
+	 * Gets the id of the start node.
+	 * 
+	 * @return the start node id
+	 */
+	public int getStartID() {
+		return start;
+	}
+	
+	/**
+	 * Gets the id of the goal node.
+	 * 
+	 * @return the goal node id
+	 */
+	public int getGoalID() {
+		return goal;
+	}
+	
+	/**
+	 * Gets the largest edge cost of the graph.  Found by looking at every edge, the first time it is needed.
+	 * 
+	 * @return the largest edge cost
+	 */
+	@Override
+	protected int getMaxTransitionCost() {
+		if (maxCost < 0) {
+			int max = 0;
+			int N = graph.getNumNodes();
+			for (int v = 0; v < N; v++) {
+				int degree = graph.getOutDegree(v);
+				for (int k = 0; k < degree; k++) {
+					max = Math.max(max, graph.getNeighborCost(v, k));
+				}
+			}
+			maxCost = max;
+		}
+		return maxCost;
+	}
 }
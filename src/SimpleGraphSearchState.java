@@ -1,5 +1,6 @@
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 /**
  * A simple graph search problem.
@@ -11,11 +12,15 @@ import java.util.LinkedList;
  */
 public class SimpleGraphSearchState extends State {
 	
-	private SimpleGraph theGraph;
-	private int start;
-	private int goal;
+	private final Graph theGraph;
+	private final int start;
+	private final int goal;
 	
-	private int nodeID;
+	private final int nodeID;
+	
+	// identity hash of theGraph, and hash of the state, computed once
+	private final int graphHash;
+	private final int hash;
 
 	/**
 	 * Constructs a graph search state.
@@ -25,31 +30,131 @@ public class SimpleGraphSearchState extends State {
 	 * @param goal  The id of the node that is the goal state.  Must be a valid index: 0 <= goal < theGraph.getNumNodes() 
 	 * @param nodeID  The id of the graph node that is THIS state.  Must be a valid index: 0 <= nodeID < theGraph.getNumNodes() 
 	 */
-	public SimpleGraphSearchState(SimpleGraph theGraph, int start, int goal, int nodeID) {
+	public SimpleGraphSearchState(Graph theGraph, int start, int goal, int nodeID) {
+		this(theGraph, System.identityHashCode(theGraph), start, goal, nodeID);
+	}
+	
+	/*
+	 * Used for successors, to avoid recomputing the identity hash of the graph.
+	 */
+	private SimpleGraphSearchState(Graph theGraph, int graphHash, int start, int goal, int nodeID) {
 		this.theGraph = theGraph;
+		this.graphHash = graphHash;
 		this.start = start;
 		this.goal = goal;
 		this.nodeID = nodeID;
+		hash = super.hashCode();
+	}
+
+	/**
+	 * Gets the graph.
+	 * 
+	 * @return the graph this state is a node of
+	 */
+	public Graph getGraph() {
+		return theGraph;
+	}
+	
+	/**
+	 * Gets the id of the graph node that is this state.
+	 * 
+	 * @return the node id
+	 */
+	public int getNodeID() {
+		return nodeID;
+	}
+	
+	/**
+	 * Gets the id of the start node.
+	 * 
+	 * @return the start node id
+	 */
+	public int getStartID() {
+		return start;
+	}
+	
+	/**
+	 * Gets the id of the goal node.
+	 * 
+	 * @return the goal node id
+	 */
+	public int getGoalID() {
+		return goal;
 	}
 
 	/**
-	 * Gets the list of neighbor states.
+	 * The node id serves as the index of the state.
+	 */
+	@Override
+	public int getIndex() {
+		return nodeID;
+	}
+
+	/**
+	 * Gets the list of neighbor states.  Only the out-edges of this state's node are
+	 * examined, so this takes time proportional to the out-degree rather than the number of nodes.
 	 * 
 	 * @return a collection of the neighboring states in the graph.
 	 */
 	@Override
 	public Collection<State> getSuccessors() {
 		super.getSuccessors();
-		LinkedList<State> nextStates = new LinkedList<State>();
-		int N = theGraph.getNumNodes();
-		for (int i = 0; i < N; i++) {
-			if (theGraph.isEdge(nodeID, i)) {
-				nextStates.add(new SimpleGraphSearchState(theGraph, start, goal, i));
-			}
+		int degree = theGraph.getOutDegree(nodeID);
+		ArrayList<State> nextStates = new ArrayList<State>(degree);
+		for (int k = 0; k < degree; k++) {
+			nextStates.add(new SimpleGraphSearchState(theGraph, graphHash, start, goal, theGraph.getNeighbor(nodeID, k)));
 		}
 		return nextStates;
 	}
 	
+	/**
+	 * Iterates over the neighbor states, constructing each one only when it is reached.  The cost of
+	 * each comes from the same out-edge, so no edge lookup is needed.
+	 * 
+	 * @return an iterator over the neighboring states in the graph.
+	 */
+	@Override
+	public SuccessorIterator successorIterator() {
+		countExpansion();
+		return new SuccessorIterator() {
+			private final int degree = theGraph.getOutDegree(nodeID);
+			private int k;
+
+			@Override
+			public boolean hasNext() {
+				return k < degree;
+			}
+
+			@Override
+			public State next() {
+				if (k >= degree) throw new NoSuchElementException();
+				return new SimpleGraphSearchState(theGraph, graphHash, start, goal, theGraph.getNeighbor(nodeID, k++));
+			}
+
+			@Override
+			public int getCost() {
+				if (k == 0) throw new IllegalStateException("No successor yet.");
+				return theGraph.getNeighborCost(nodeID, k-1);
+			}
+		};
+	}
+	
+	/**
+	 * Gets the list of states with an edge to this one, using the reverse graph.
+	 * 
+	 * @return a collection of the predecessor states in the graph.
+	 */
+	@Override
+	public Collection<State> getPredecessors() {
+		Graph reverse = theGraph.getReverse();
+		int degree = reverse.getOutDegree(nodeID);
+		ArrayList<State> previousStates = new ArrayList<State>(degree);
+		for (int k = 0; k < degree; k++) {
+			previousStates.add(new SimpleGraphSearchState(theGraph, graphHash, start, goal, reverse.getNeighbor(nodeID, k)));
+		}
+		return previousStates;
+	}
+	
 	/**
 	 * Gets the cost of transitioning between states.
 	 * 
@@ -70,7 +175,24 @@ public class SimpleGraphSearchState extends State {
 		if (o == null) return false;
 		if (this.getClass()!= o.getClass()) return false;
 		SimpleGraphSearchState other = (SimpleGraphSearchState)o;
-		return theGraph == other.theGraph && start == other.start && goal == other.goal && nodeID == other.nodeID;
+		return nodeID == other.nodeID && theGraph == other.theGraph && start == other.start && goal == other.goal;
+	}
+	
+	/**
+	 * The key combines the node id with the identity of the graph and the start and goal nodes,
+	 * so states of different graphs or different problems on the same graph usually have different keys.
+	 */
+	@Override
+	protected long stateKey() {
+		return ((long)(graphHash ^ (31 * start + goal)) << 32) | (nodeID & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Gets the hash code, which is computed once when the state is constructed.
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
 	}
 	
 	/**
@@ -1,4 +1,6 @@
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Abstract base class for search problem states.
@@ -9,19 +11,28 @@ import java.util.Collection;
 public abstract class State {
 	
 	
-	private static long numExpandedStates = 0;
+	// Shared by all searches on all threads.  Kept for compatibility; use SearchStatistics instead.
+	private static final LongAdder numExpandedStates = new LongAdder();
 	/**
 	 * Resets the tracking of the number of expanded states.
+	 * 
+	 * @deprecated This count is shared by every search in the program.  Pass a SearchStatistics
+	 * object to the search methods of SearchProblem to get statistics for a single search.
 	 */
+	@Deprecated
 	final public static void resetStats() {
-		numExpandedStates = 0;
+		numExpandedStates.reset();
 	}
 	/**
-	 * Gets the number of expanded states.
+	 * Gets the number of expanded states, over all searches since the last call to resetStats.
 	 * @return Number of expanded states.
+	 * 
+	 * @deprecated This count is shared by every search in the program.  Pass a SearchStatistics
+	 * object to the search methods of SearchProblem to get statistics for a single search.
 	 */
+	@Deprecated
 	final public static long getNumExpandedStates() {
-		return numExpandedStates;
+		return numExpandedStates.sum();
 	}
 
 		
@@ -32,10 +43,63 @@ public abstract class State {
 	 * @return A collection of the successors of the given state. 
 	 */
 	public Collection<State> getSuccessors() {
-		numExpandedStates++;
+		countExpansion();
 		return null;
 	}
 	
+	/**
+	 * Counts an expansion in the shared count of expanded states (see getNumExpandedStates).  Called by
+	 * getSuccessors; subclasses that override successorIterator without calling getSuccessors should call it
+	 * from successorIterator, so that the count stays the same.
+	 */
+	protected static void countExpansion() {
+		numExpandedStates.increment();
+	}
+	
+	/**
+	 * Gets the successors of the state one at a time, with the cost of the transition to each, so that a
+	 * search that stops early (e.g., when it generates the goal) doesn't construct successors it never looks at.
+	 * The search algorithms use this rather than getSuccessors.  The default iterates over getSuccessors and gets
+	 * the costs from getTransitionCost; override if the successors can be constructed as they are needed, or if the
+	 * cost is found along with the successor.
+	 * 
+	 * @return An iterator over the successors of the given state.
+	 */
+	public SuccessorIterator successorIterator() {
+		Iterator<State> succs = getSuccessors().iterator();
+		return new SuccessorIterator() {
+			private State last;
+
+			@Override
+			public boolean hasNext() {
+				return succs.hasNext();
+			}
+
+			@Override
+			public State next() {
+				last = succs.next();
+				return last;
+			}
+
+			@Override
+			public int getCost() {
+				if (last == null) throw new IllegalStateException("No successor yet.");
+				return getTransitionCost(last);
+			}
+		};
+	}
+	
+	/**
+	 * Constructs and returns all predecessors of the given state, i.e., the states that have
+	 * this state as a successor.  Needed for searching backwards from the goal (e.g., bidirectional search).
+	 * Override if it is easy to generate the predecessors of a state.
+	 * 
+	 * @return A collection of the predecessors of the given state.
+	 */
+	public Collection<State> getPredecessors() {
+		throw new UnsupportedOperationException("Predecessors unsupported by this class.");
+	}
+	
 	/**
 	 * Implementations of this method must return the cost
 	 * of transitioning to a given state.
@@ -64,6 +128,18 @@ public abstract class State {
 		throw new UnsupportedOperationException("Start state check unsupported by this class.");
 	}
 	
+	/**
+	 * Gets a dense integer index for the state, i.e., a small non-negative integer that is
+	 * different for every state of the problem.  Override if the states of a problem can
+	 * be numbered this way (e.g., graph nodes), which enables array-based data structures
+	 * such as DaryPQ.
+	 * 
+	 * @return the index of the state, or -1 if the state has no index
+	 */
+	public int getIndex() {
+		return -1;
+	}
+	
 	/**
 	 * Subclasses of State must override equals of the object class.
 	 * Many of the search algorithms we'll look at are easiest implemented
@@ -77,11 +153,27 @@ public abstract class State {
 	abstract public String toString();
 	
 	/**
-	 * Simple implementation of hashCode which simply relies on the default hashCode method of
-	 * the String class applied to the String representation of the state.
+	 * Gets a key for the state, from which hashCode is computed.  States that are equal must have
+	 * equal keys, and ideally states that are not equal should have different keys.
+	 * 
+	 * The default key is the hashCode of the String representation of the state, which requires building
+	 * that String every time.  Subclasses should override this with something cheap that does not allocate,
+	 * such as the fields compared by equals packed into a long.
+	 * 
+	 * @return the key of the state
 	 */
-	public int hashCode() {
+	protected long stateKey() {
 		return toString().hashCode();
 	}
 	
+	/**
+	 * Computes hashCode by mixing the bits of stateKey, so that keys that differ only in a few bits
+	 * (e.g., consecutive ids) spread well in hash tables.  Subclasses with immutable states may override
+	 * this to return a cached value.
+	 */
+	public int hashCode() {
+		long k = stateKey() * 0x9E3779B97F4A7C15L;
+		return (int)(k ^ (k >>> 32));
+	}
+	
 }
@@ -0,0 +1,20 @@
+import java.util.Iterator;
+
+/**
+ * Iterator over the successors of a State that also gives the cost of the transition to each
+ * successor, so that a search can get the successor and its cost together (e.g., from the same
+ * edge of a graph) rather than looking the cost up again with getTransitionCost.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public interface SuccessorIterator extends Iterator<State> {
+
+	/**
+	 * Gets the cost of transitioning to the successor most recently returned by next.
+	 *
+	 * @return the transition cost
+	 * @throws IllegalStateException if next has not been called
+	 */
+	int getCost();
+}
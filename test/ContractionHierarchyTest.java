@@ -0,0 +1,125 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of ContractionHierarchy queries against ShortestPathTree, with and without a core.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class ContractionHierarchyTest {
+
+	/*
+	 * Seeded random directed graph without duplicate edges or self loops, with costs from 1 to 20.  The last node
+	 * has no in-edges, so it can't be reached from any other node.
+	 */
+	static CSRGraph randomGraph(int numNodes, int numEdges, long seed) {
+		Random gen = new Random(seed);
+		int[] from = new int[numEdges];
+		int[] to = new int[numEdges];
+		int[] cost = new int[numEdges];
+		HashSet<Long> edges = new HashSet<Long>();
+		int m = 0;
+		while (m < numEdges) {
+			int u = gen.nextInt(numNodes);
+			int v = gen.nextInt(numNodes - 1);
+			if (u == v || !edges.add((long)u * numNodes + v)) continue;
+			from[m] = u;
+			to[m] = v;
+			cost[m++] = 1 + gen.nextInt(20);
+		}
+		return CSRGraph.fromEdges(numNodes, m, from, to, cost);
+	}
+
+	static int id(SearchNode node) {
+		return ((SimpleGraphSearchState)node.getState()).getNodeID();
+	}
+
+	/*
+	 * Checks that the solution is a path of real edges of g from start to goal, of the given cost.
+	 */
+	static void assertPath(Graph g, int start, int goal, int cost, SearchNode solution) {
+		assertEquals(goal, id(solution));
+		assertEquals(cost, solution.getG());
+		SearchNode n = solution;
+		for (; n.getBackpointer() != null; n = n.getBackpointer()) {
+			SearchNode back = n.getBackpointer();
+			assertTrue(g.isEdge(id(back), id(n)), "not an edge: " + id(back) + " -> " + id(n));
+			assertEquals(g.cost(id(back), id(n)), n.getG() - back.getG());
+		}
+		assertEquals(start, id(n));
+		assertEquals(0, n.getG());
+	}
+
+	/*
+	 * Checks every query from a few seeded starts against the shortest path tree of the start.
+	 */
+	static void assertQueriesMatch(Graph g, ContractionHierarchy ch, long seed) {
+		Random gen = new Random(seed);
+		int N = g.getNumNodes();
+		for (int k = 0; k < 10; k++) {
+			int start = gen.nextInt(N);
+			ShortestPathTree tree = ShortestPathTree.from(g, start);
+			for (int goal = 0; goal < N; goal++) {
+				SearchNode solution = ch.query(start, goal);
+				if (!tree.isReachable(goal)) {
+					assertNull(solution, start + " -> " + goal);
+				} else {
+					assertNotNull(solution, start + " -> " + goal);
+					assertPath(g, start, goal, tree.getDistance(goal), solution);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void queriesMatchShortestPathTreesWithoutCore() {
+		for (int i = 0; i < 10; i++) {
+			CSRGraph g = randomGraph(200, 600, 4463L + i);
+			ContractionHierarchy ch = new ContractionHierarchy(g, Double.POSITIVE_INFINITY);
+			assertEquals(0, ch.getCoreSize());
+			assertQueriesMatch(g, ch, i);
+		}
+	}
+
+	@Test
+	public void queriesMatchShortestPathTreesWithCore() {
+		for (int i = 0; i < 10; i++) {
+			CSRGraph g = randomGraph(200, 1200, 4463L + i);
+			ContractionHierarchy ch = new ContractionHierarchy(g, 4);
+			assertTrue(ch.getCoreSize() > 0);
+			assertQueriesMatch(g, ch, i);
+		}
+	}
+
+	@Test
+	public void startIsGoal() {
+		CSRGraph g = randomGraph(50, 150, 4463L);
+		ContractionHierarchy ch = new ContractionHierarchy(g);
+		for (int v = 0; v < g.getNumNodes(); v++) {
+			SearchNode solution = ch.query(v, v);
+			assertEquals(v, id(solution));
+			assertEquals(0, solution.getG());
+			assertNull(solution.getBackpointer());
+		}
+	}
+
+	@Test
+	public void unreachableGoal() {
+		CSRGraph g = randomGraph(50, 150, 4463L);
+		int goal = g.getNumNodes() - 1;
+		for (double maxCoreDegree : new double[] { 4, Double.POSITIVE_INFINITY }) {
+			ContractionHierarchy ch = new ContractionHierarchy(g, maxCoreDegree);
+			for (int start = 0; start < goal; start++) {
+				assertNull(ch.query(start, goal));
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of EdgeListImporter on small edge list and DIMACS files.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class EdgeListImporterTest {
+
+	@TempDir
+	Path dir;
+
+	private Path write(String name, String contents) throws IOException {
+		Path file = dir.resolve(name);
+		Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test
+	public void edgeList() throws IOException {
+		// comments with non-ASCII characters (bytes >= 0x80 in UTF-8) must not end the file early
+		Path file = write("graph.txt", "# café graph\n0 1 5\n% naïve comment\n1 2\n\n2 0 3\n");
+		CSRGraph g = EdgeListImporter.read(file);
+		assertEquals(3, g.getNumNodes());
+		assertEquals(3, g.getNumEdges());
+		assertEquals(5, g.cost(0, 1));
+		assertEquals(1, g.cost(1, 2));
+		assertEquals(3, g.cost(2, 0));
+	}
+
+	@Test
+	public void dimacs() throws IOException {
+		Path file = write("graph.gr", "c café\np sp 3 3\nc — arcs —\na 1 2 5\na 2 3 1\na 3 1 3\n");
+		CSRGraph g = EdgeListImporter.read(file);
+		assertEquals(3, g.getNumNodes());
+		assertEquals(3, g.getNumEdges());
+		assertEquals(5, g.cost(0, 1));
+		assertEquals(1, g.cost(1, 2));
+		assertEquals(3, g.cost(2, 0));
+	}
+
+	@Test
+	public void dimacsEdgeCountIsNotTrusted() throws IOException {
+		// the arrays must not be sized for the ~2^31 edges of the problem line before any arc is read
+		Path file = write("graph.gr", "p sp 3 2147483000\na 1 2 5\na 2 3 1\n");
+		CSRGraph g = EdgeListImporter.read(file);
+		assertEquals(3, g.getNumNodes());
+		assertEquals(2, g.getNumEdges());
+		assertEquals(5, g.cost(0, 1));
+	}
+
+	@Test
+	public void duplicateEdgesKeepTheLeastCost() throws IOException {
+		CSRGraph g = EdgeListImporter.read(write("graph.txt", "0 1 7\n0 1 4\n1 0 2\n"));
+		assertEquals(2, g.getNumEdges());
+		assertEquals(4, g.cost(0, 1));
+	}
+
+	@Test
+	public void nonNumericDataIsAnError() throws IOException {
+		Path file = write("graph.txt", "0 1 5\n1 café 2\n");
+		IOException e = assertThrows(IOException.class, () -> EdgeListImporter.read(file));
+		assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+	}
+}
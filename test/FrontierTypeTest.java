@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that uniform cost search and A* search find solutions of the same cost with every FrontierType.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class FrontierTypeTest {
+
+	static final int PROBLEMS = 20;
+
+	static int cost(SearchNode solution) {
+		return (solution == null) ? -1 : solution.getG();
+	}
+
+	@Test
+	public void everyHeapArityFindsTheLeastCost() {
+		for (int i = 0; i < PROBLEMS; i++) {
+			SimpleGraphSearchProblem problem = new SimpleGraphSearchProblem(500, 0.01, false, 4463L + i);
+			int expected = cost(problem.uniformCostSearch(FrontierType.BINARY_HEAP));
+			for (int arity : new int[] { 2, 4, 8 }) {
+				problem.setHeapArity(arity);
+				assertEquals(arity, problem.getHeapArity());
+				assertEquals(expected, cost(problem.uniformCostSearch(FrontierType.DARY_HEAP)), "arity " + arity);
+				assertEquals(expected, cost(problem.AStarSearch(s -> 0, FrontierType.DARY_HEAP)), "arity " + arity);
+			}
+		}
+	}
+
+	@Test
+	public void unsupportedHeapArity() {
+		SearchProblem problem = new SimpleGraphSearchProblem(10, 0.5, false, 4463L);
+		assertThrows(IllegalArgumentException.class, () -> problem.setHeapArity(3));
+	}
+
+	@Test
+	public void bucketQueueIsSizedByTheLargestEdgeCost() {
+		int n = 200;
+		Random gen = new Random(4463);
+		int m = 8 * n;
+		int[] from = new int[m], to = new int[m], cost = new int[m];
+		for (int i = 0; i < m; i++) {
+			from[i] = i % n;
+			to[i] = gen.nextInt(n);
+			cost[i] = 1 + gen.nextInt(999);
+		}
+		cost[m / 2] = 1000;
+		Graph g = CSRGraph.fromEdges(n, m, from, to, cost);
+		for (int i = 0; i < PROBLEMS; i++) {
+			SimpleGraphSearchProblem problem = new SimpleGraphSearchProblem(g, gen.nextInt(n), gen.nextInt(n));
+			assertEquals(1000, problem.getMaxTransitionCost());
+			int expected = cost(problem.uniformCostSearch(FrontierType.BINARY_HEAP));
+			assertEquals(expected, cost(problem.uniformCostSearch(FrontierType.BUCKET_QUEUE)));
+			assertEquals(expected, cost(problem.AStarSearch(s -> 0, FrontierType.BUCKET_QUEUE)));
+		}
+	}
+}
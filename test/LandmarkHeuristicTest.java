@@ -0,0 +1,112 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of LandmarkHeuristic on seeded random directed graphs, in which many nodes can't reach a given goal.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class LandmarkHeuristicTest {
+
+	@TempDir
+	Path dir;
+
+	static Graph randomDirectedGraph(Random gen) {
+		int n = 4 + gen.nextInt(30);
+		int m = n + gen.nextInt(n);
+		int[] from = new int[m], to = new int[m], cost = new int[m];
+		for (int i = 0; i < m; i++) {
+			from[i] = gen.nextInt(n);
+			to[i] = gen.nextInt(n);
+			cost[i] = 1 + gen.nextInt(20);
+		}
+		return CSRGraph.fromEdges(n, m, from, to, cost);
+	}
+
+	@Test
+	public void consistentOnDirectedGraphs() {
+		Random gen = new Random(4463);
+		for (int trial = 0; trial < 400; trial++) {
+			Graph g = randomDirectedGraph(gen);
+			LandmarkHeuristic h = new LandmarkHeuristic(g, 1 + gen.nextInt(4));
+			int N = g.getNumNodes();
+			for (int goal = 0; goal < N; goal++) {
+				int[] toGoal = ShortestPathTree.from(g.getReverse(), goal).getDistances();
+				for (int u = 0; u < N; u++) {
+					int hu = h.h(u, goal);
+					if (toGoal[u] == ShortestPathTree.UNREACHABLE) continue;
+					assertTrue(hu <= toGoal[u], "admissible");
+					for (int k = 0; k < g.getOutDegree(u); k++) {
+						int v = g.getNeighbor(u, k);
+						int hv = h.h(v, goal);
+						assertTrue(hu <= g.getNeighborCost(u, k) + hv, "consistent on edge " + u + "->" + v);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void aStarWithBucketQueue() {
+		// The bucket queue requires f values that never decrease, i.e., a consistent heuristic.
+		Random gen = new Random(4463);
+		for (int trial = 0; trial < 400; trial++) {
+			Graph g = randomDirectedGraph(gen);
+			LandmarkHeuristic h = new LandmarkHeuristic(g, 1 + gen.nextInt(4));
+			int N = g.getNumNodes();
+			SearchProblem problem = new SimpleGraphSearchProblem(g, gen.nextInt(N), gen.nextInt(N));
+			SearchNode ucs = problem.uniformCostSearch();
+			SearchStatistics stats = new SearchStatistics();
+			SearchNode bucket = problem.AStarSearch(h, FrontierType.BUCKET_QUEUE, stats);
+			SearchNode heap = problem.AStarSearch(h, FrontierType.BINARY_HEAP);
+			assertEquals(ucs == null, bucket == null);
+			assertEquals(ucs == null, heap == null);
+			if (ucs != null) {
+				assertEquals(ucs.getG(), bucket.getG());
+				assertEquals(ucs.getG(), heap.getG());
+			}
+			assertEquals(0, stats.getNumReopenedStates());
+		}
+	}
+
+	@Test
+	public void saveAndLoad() throws IOException {
+		Graph g = new SimpleGraph(300, 0.02, false, 4463L);
+		LandmarkHeuristic h = new LandmarkHeuristic(g, 4);
+		Path file = dir.resolve("landmarks.bin");
+		h.save(file);
+		LandmarkHeuristic loaded = LandmarkHeuristic.load(g, file);
+		for (int u = 0; u < g.getNumNodes(); u++) {
+			for (int goal = 0; goal < g.getNumNodes(); goal += 7) {
+				assertEquals(h.h(u, goal), loaded.h(u, goal));
+			}
+		}
+	}
+
+	@Test
+	public void loadRejectsLandmarksOutsideTheGraph() throws IOException {
+		Graph g = new SimpleGraph(300, 0.02, false, 4463L);
+		Path file = dir.resolve("landmarks.bin");
+		new LandmarkHeuristic(g, 4).save(file);
+		byte[] saved = Files.readAllBytes(file);
+		for (int landmark : new int[] { -1, g.getNumNodes() }) {
+			// the first landmark follows the magic, version, N, M and number of landmarks (big-endian ints)
+			byte[] bytes = saved.clone();
+			ByteBuffer.wrap(bytes).putInt(20, landmark);
+			Files.write(file, bytes);
+			IOException e = assertThrows(IOException.class, () -> LandmarkHeuristic.load(g, file));
+			assertTrue(e.getMessage().startsWith("Corrupt landmark file"));
+		}
+	}
+}
@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of writing graphs in the binary graph file format and opening them as MappedGraphs.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class MappedGraphTest {
+
+	@TempDir
+	Path dir;
+
+	/*
+	 * Writes a seeded SimpleGraph to a graph file, and returns the file.
+	 */
+	private Path writeGraph(String name, SimpleGraph g) throws IOException {
+		Path file = dir.resolve(name);
+		MappedGraph.write(g, file);
+		return file;
+	}
+
+	/*
+	 * Overwrites the index-th int of a file.
+	 */
+	private static void setInt(Path file, int index, int value) throws IOException {
+		byte[] bytes = Files.readAllBytes(file);
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4 * index, value);
+		Files.write(file, bytes);
+	}
+
+	@Test
+	public void roundTrip() throws IOException {
+		SimpleGraph g = new SimpleGraph(500, 0.02, false, 4463L);
+		MappedGraph m = new MappedGraph(writeGraph("graph.bin", g));
+		assertEquals(g.getNumNodes(), m.getNumNodes());
+		assertEquals(g.getNumEdges(), m.getNumEdges());
+		for (int v = 0; v < g.getNumNodes(); v++) {
+			assertEquals(g.getOutDegree(v), m.getOutDegree(v));
+			for (int k = 0; k < g.getOutDegree(v); k++) {
+				int w = g.getNeighbor(v, k);
+				assertEquals(w, m.getNeighbor(v, k));
+				assertEquals(g.getNeighborCost(v, k), m.getNeighborCost(v, k));
+				assertTrue(m.isEdge(v, w));
+				assertEquals(g.cost(v, w), m.cost(v, w));
+			}
+		}
+	}
+
+	@Test
+	public void badMagic() throws IOException {
+		Path file = writeGraph("graph.bin", new SimpleGraph(50, 0.1, false, 4463L));
+		setInt(file, 0, MappedGraph.MAGIC + 1);
+		IOException e = assertThrows(IOException.class, () -> new MappedGraph(file));
+		assertTrue(e.getMessage().startsWith("Not a graph file"));
+	}
+
+	@Test
+	public void wrongVersion() throws IOException {
+		Path file = writeGraph("graph.bin", new SimpleGraph(50, 0.1, false, 4463L));
+		setInt(file, 1, MappedGraph.VERSION + 1);
+		IOException e = assertThrows(IOException.class, () -> new MappedGraph(file));
+		assertTrue(e.getMessage().startsWith("Unsupported graph file version"));
+	}
+
+	@Test
+	public void truncated() throws IOException {
+		Path file = writeGraph("graph.bin", new SimpleGraph(50, 0.1, false, 4463L));
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+		IOException e = assertThrows(IOException.class, () -> new MappedGraph(file));
+		assertTrue(e.getMessage().startsWith("Corrupt graph file"));
+
+		// shorter than the header
+		Files.write(file, Arrays.copyOf(bytes, 12));
+		e = assertThrows(IOException.class, () -> new MappedGraph(file));
+		assertTrue(e.getMessage().startsWith("Not a graph file"));
+	}
+
+	@Test
+	public void lastOffsetIsNotNumEdges() throws IOException {
+		SimpleGraph g = new SimpleGraph(50, 0.1, false, 4463L);
+		Path file = writeGraph("graph.bin", g);
+		// offsets[N] follows the 4 header ints
+		setInt(file, 4 + g.getNumNodes(), g.getNumEdges() - 1);
+		IOException e = assertThrows(IOException.class, () -> new MappedGraph(file));
+		assertTrue(e.getMessage().startsWith("Corrupt graph file"));
+	}
+}
@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the node pooling mode of bfs, uniform cost search and A* search.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class NodePoolTest {
+
+	static int id(SearchNode node) {
+		return ((SimpleGraphSearchState)node.getState()).getNodeID();
+	}
+
+	/*
+	 * Checks that the path is made of edges of the graph, and that the g of each SearchNode is the cost of the path to it.
+	 */
+	static void assertValidPath(Graph g, SearchNode solution) {
+		for (SearchNode n = solution; n.getBackpointer() != null; n = n.getBackpointer()) {
+			SearchNode back = n.getBackpointer();
+			assertEquals(g.cost(id(back), id(n)), n.getG() - back.getG());
+			assertEquals(back.getPathLengthToNode() + 1, n.getPathLengthToNode());
+		}
+	}
+
+	@Test
+	public void pooledSearchesFindTheSameCosts() {
+		for (int i = 0; i < 20; i++) {
+			SimpleGraphSearchProblem problem = new SimpleGraphSearchProblem(1000, 0.005, false, 4463L + i);
+			SearchNode bfs = problem.bfs();
+			SearchNode ucs = problem.uniformCostSearch();
+			problem.setNodePooling(true);
+			SearchNode pooledBFS = problem.bfs();
+			SearchNode pooledUCS = problem.uniformCostSearch();
+			SearchNode pooledAStar = problem.AStarSearch(s -> 0);
+			if (ucs == null) {
+				assertNull(pooledBFS);
+				assertNull(pooledUCS);
+				assertNull(pooledAStar);
+				continue;
+			}
+			assertEquals(bfs.getPathLengthToNode(), pooledBFS.getPathLengthToNode());
+			assertEquals(ucs.getG(), pooledUCS.getG());
+			assertEquals(ucs.getG(), pooledAStar.getG());
+			for (SearchNode solution : new SearchNode[] { pooledBFS, pooledUCS, pooledAStar }) {
+				assertEquals(problem.getStartID(), id(rootOf(solution)));
+				assertEquals(problem.getGoalID(), id(solution));
+				assertValidPath(problem.getGraph(), solution);
+			}
+		}
+	}
+
+	static SearchNode rootOf(SearchNode n) {
+		while (n.getBackpointer() != null) n = n.getBackpointer();
+		return n;
+	}
+}
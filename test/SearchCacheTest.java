@@ -0,0 +1,50 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the keys and results of SearchCache.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class SearchCacheTest {
+
+	@Test
+	public void searchConfigurationIsPartOfTheKey() {
+		SimpleGraphSearchProblem problem = new SimpleGraphSearchProblem(500, 0.01, false, 4463L);
+		SearchCache cache = new SearchCache(16, 1);
+		SearchResult graph = cache.solve(problem, SearchAlgorithm.BFS);
+		assertSame(graph.getSolution(), cache.solve(problem, SearchAlgorithm.BFS).getSolution());
+
+		problem.setSearchMode(SearchMode.TREE_SEARCH);
+		assertNotSame(graph.getSolution(), cache.solve(problem, SearchAlgorithm.BFS).getSolution());
+		problem.setSearchMode(null);
+		problem.setNodePooling(true);
+		assertNotSame(graph.getSolution(), cache.solve(problem, SearchAlgorithm.BFS).getSolution());
+		problem.setNodePooling(false);
+		SearchAlgorithm aStar = SearchAlgorithm.aStar(s -> 0);
+		problem.setHeapArity(2);
+		SearchResult binary = cache.solve(problem, aStar);
+		assertSame(binary.getSolution(), cache.solve(problem, aStar).getSolution());
+		problem.setHeapArity(8);
+		assertNotSame(binary.getSolution(), cache.solve(problem, aStar).getSolution());
+	}
+
+	@Test
+	public void cachedStatisticsAreCopies() {
+		SimpleGraphSearchProblem problem = new SimpleGraphSearchProblem(500, 0.01, false, 4463L);
+		SearchCache cache = new SearchCache(16, 1);
+		for (SearchAlgorithm algorithm : new SearchAlgorithm[] { SearchAlgorithm.BFS, SearchAlgorithm.UNIFORM_COST }) {
+			SearchResult first = cache.solve(problem, algorithm);
+			long expanded = first.getStatistics().getNumExpandedStates();
+			first.getStatistics().reset();
+			SearchResult second = cache.solve(problem, algorithm);
+			assertSame(first.getSolution(), second.getSolution());
+			assertNotSame(first.getStatistics(), second.getStatistics());
+			assertEquals(expanded, second.getStatistics().getNumExpandedStates());
+		}
+	}
+}
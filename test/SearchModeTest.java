@@ -0,0 +1,123 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the expansion counts of the search algorithms in graph search and tree search mode.
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class SearchModeTest {
+
+	static final int LAYERS = 10;
+
+	/*
+	 * A start node followed by LAYERS layers of 2 nodes, each with an edge to both nodes of the next layer, and a goal
+	 * node that can't be reached.  Graph search expands each of the 2*LAYERS+1 reachable nodes once; tree search
+	 * expands every path from the start, 2^(LAYERS+1)-1 of them.
+	 */
+	static SearchProblem layeredProblem() {
+		int n = 2 * LAYERS + 2;
+		int goal = n - 1;
+		int m = 2 + 4 * (LAYERS - 1);
+		int[] from = new int[m], to = new int[m], cost = new int[m];
+		int e = 0;
+		for (int k = 0; k < 2; k++) {
+			from[e] = 0; to[e] = 1 + k; cost[e++] = 1;
+		}
+		for (int layer = 1; layer < LAYERS; layer++) {
+			for (int a = 0; a < 2; a++) {
+				for (int b = 0; b < 2; b++) {
+					from[e] = 2 * layer - 1 + a; to[e] = 2 * layer + 1 + b; cost[e++] = 1 + a + b;
+				}
+			}
+		}
+		return new SimpleGraphSearchProblem(CSRGraph.fromEdges(n, m, from, to, cost), 0, goal);
+	}
+
+	static final long REACHABLE = 2 * LAYERS + 1;
+	static final long PATHS = (1L << (LAYERS + 1)) - 1;
+
+	static long expanded(SearchProblem problem, SearchMode mode, String algorithm) {
+		problem.setSearchMode(mode);
+		SearchStatistics stats = new SearchStatistics();
+		SearchNode solution;
+		switch (algorithm) {
+		case "bfs": solution = problem.bfs(stats); break;
+		case "ucs": solution = problem.uniformCostSearch(stats); break;
+		case "astar": solution = problem.AStarSearch(s -> 0, stats); break;
+		case "dfs": solution = problem.dfs(stats); break;
+		default: throw new IllegalArgumentException(algorithm);
+		}
+		assertNull(solution);
+		return stats.getNumExpandedStates();
+	}
+
+	@Test
+	public void graphSearchExpandsEachReachableStateOnce() {
+		for (String algorithm : new String[] { "bfs", "ucs", "astar", "dfs" }) {
+			assertEquals(REACHABLE, expanded(layeredProblem(), SearchMode.GRAPH_SEARCH, algorithm), algorithm);
+		}
+	}
+
+	@Test
+	public void treeSearchExpandsEveryPath() {
+		for (String algorithm : new String[] { "bfs", "ucs", "astar", "dfs" }) {
+			assertEquals(PATHS, expanded(layeredProblem(), SearchMode.TREE_SEARCH, algorithm), algorithm);
+		}
+	}
+
+	@Test
+	public void defaultModes() {
+		// bfs, uniform cost and A* default to graph search; the depth first searches to path checking
+		assertEquals(REACHABLE, expanded(layeredProblem(), null, "bfs"));
+		assertEquals(REACHABLE, expanded(layeredProblem(), null, "ucs"));
+		assertEquals(REACHABLE, expanded(layeredProblem(), null, "astar"));
+		assertEquals(PATHS, expanded(layeredProblem(), null, "dfs"));
+	}
+
+	@Test
+	public void iterativeDeepeningStopsWhenNothingIsCutOff() {
+		for (SearchMode mode : new SearchMode[] { SearchMode.GRAPH_SEARCH, SearchMode.TREE_SEARCH }) {
+			SearchProblem problem = layeredProblem();
+			problem.setSearchMode(mode);
+			SearchStatistics stats = new SearchStatistics();
+			assertNull(problem.iterativeDeepeningSearch(stats));
+			// limits 1 to LAYERS+1; the last one cuts nothing off
+			long expected = 0;
+			for (int limit = 1; limit <= LAYERS + 1; limit++) {
+				expected += (mode == SearchMode.GRAPH_SEARCH) ? 2 * limit - 1 : (1L << limit) - 1;
+			}
+			assertEquals(expected, stats.getNumExpandedStates(), mode.toString());
+		}
+	}
+
+	@Test
+	public void graphSearchExpandsAtMostNStates() {
+		final int N = 300;
+		for (int i = 0; i < 20; i++) {
+			SimpleGraphSearchProblem problem = new SimpleGraphSearchProblem(N, 0.05, false, 4463L + i);
+			problem.setSearchMode(SearchMode.GRAPH_SEARCH);
+			SearchStatistics bfs = new SearchStatistics();
+			SearchNode shortest = problem.bfs(bfs);
+			assertTrue(bfs.getNumExpandedStates() <= N);
+			SearchStatistics ucs = new SearchStatistics();
+			SearchNode cheapest = problem.uniformCostSearch(ucs);
+			assertTrue(ucs.getNumExpandedStates() <= N);
+			SearchStatistics dfs = new SearchStatistics();
+			problem.dfs(dfs);
+			assertTrue(dfs.getNumExpandedStates() <= N);
+			assertEquals(shortest == null, cheapest == null);
+			if (shortest != null) {
+				// graph search iterative deepening still finds a path with the fewest edges
+				SearchNode ids = problem.iterativeDeepeningSearch();
+				assertNotNull(ids);
+				assertEquals(shortest.getPathLengthToNode(), ids.getPathLengthToNode());
+			}
+		}
+	}
+}
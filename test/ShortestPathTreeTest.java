@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of ShortestPathTree against uniform cost search, for unit edge costs (breadth first search) and for
+ * other costs (Dijkstra's algorithm).
+ *
+ * @author Ryan Ceresani & Tyler Sefcik
+ * @version CSIS4463
+ */
+public class ShortestPathTreeTest {
+
+	/*
+	 * Seeded random directed graph without duplicate edges or self loops, with costs 1 (if unitCosts) or from
+	 * 1 to 20.  The last node has no in-edges, so it can't be reached from any other node.
+	 */
+	static CSRGraph randomGraph(int numNodes, int numEdges, boolean unitCosts, long seed) {
+		Random gen = new Random(seed);
+		int[] from = new int[numEdges];
+		int[] to = new int[numEdges];
+		int[] cost = new int[numEdges];
+		HashSet<Long> edges = new HashSet<Long>();
+		int m = 0;
+		while (m < numEdges) {
+			int u = gen.nextInt(numNodes);
+			int v = gen.nextInt(numNodes - 1);
+			if (u == v || !edges.add((long)u * numNodes + v)) continue;
+			from[m] = u;
+			to[m] = v;
+			cost[m++] = unitCosts ? 1 : 1 + gen.nextInt(20);
+		}
+		return CSRGraph.fromEdges(numNodes, m, from, to, cost);
+	}
+
+	static int id(SearchNode node) {
+		return ((SimpleGraphSearchState)node.getState()).getNodeID();
+	}
+
+	/*
+	 * Checks that pathTo gives a path of edges of the graph from the root of the node, of the node's distance.
+	 */
+	static void assertPathTo(ShortestPathTree tree, int v) {
+		Graph g = tree.getGraph();
+		SearchNode solution = tree.pathTo(v);
+		assertEquals(v, id(solution));
+		assertEquals(tree.getDistance(v), solution.getG());
+		SearchNode n = solution;
+		for (; n.getBackpointer() != null; n = n.getBackpointer()) {
+			SearchNode back = n.getBackpointer();
+			assertEquals(tree.getParent(id(n)), id(back));
+			assertEquals(g.cost(id(back), id(n)), n.getG() - back.getG());
+		}
+		assertEquals(tree.getRoot(v), id(n));
+		assertEquals(-1, tree.getParent(id(n)));
+	}
+
+	private static void assertMatchesUniformCostSearch(boolean unitCosts) {
+		for (int i = 0; i < 5; i++) {
+			CSRGraph g = randomGraph(300, 700, unitCosts, 4463L + i);
+			int source = new Random(i).nextInt(g.getNumNodes() - 1);
+			ShortestPathTree tree = ShortestPathTree.from(g, source);
+			int reachable = 0;
+			for (int v = 0; v < g.getNumNodes(); v++) {
+				SearchNode solution = new SimpleGraphSearchProblem(g, source, v).uniformCostSearch();
+				if (solution == null) {
+					assertEquals(ShortestPathTree.UNREACHABLE, tree.getDistance(v));
+					assertEquals(-1, tree.getRoot(v));
+					assertNull(tree.pathTo(v));
+				} else {
+					reachable++;
+					assertEquals(solution.getG(), tree.getDistance(v));
+					assertEquals(source, tree.getRoot(v));
+					assertPathTo(tree, v);
+				}
+			}
+			assertEquals(reachable, tree.getNumReachable());
+			assertTrue(reachable < g.getNumNodes());
+		}
+	}
+
+	@Test
+	public void unitCostsMatchUniformCostSearch() {
+		assertMatchesUniformCostSearch(true);
+	}
+
+	@Test
+	public void costsMatchUniformCostSearch() {
+		assertMatchesUniformCostSearch(false);
+	}
+
+	@Test
+	public void duplicateSources() {
+		for (boolean unitCosts : new boolean[] { true, false }) {
+			CSRGraph g = randomGraph(300, 700, unitCosts, 4463L);
+			int[] sources = { 3, 7, 3, 11, 7 };
+			ShortestPathTree forest = ShortestPathTree.fromSources(g, sources);
+			ShortestPathTree[] trees = { ShortestPathTree.from(g, 3), ShortestPathTree.from(g, 7), ShortestPathTree.from(g, 11) };
+			int reachable = 0;
+			for (int v = 0; v < g.getNumNodes(); v++) {
+				int nearest = ShortestPathTree.UNREACHABLE;
+				for (ShortestPathTree tree : trees) nearest = Math.min(nearest, tree.getDistance(v));
+				assertEquals(nearest, forest.getDistance(v));
+				if (nearest == ShortestPathTree.UNREACHABLE) {
+					assertEquals(-1, forest.getRoot(v));
+					assertNull(forest.pathTo(v));
+					continue;
+				}
+				reachable++;
+				int root = forest.getRoot(v);
+				assertTrue(root == 3 || root == 7 || root == 11);
+				assertEquals(nearest, ShortestPathTree.from(g, root).getDistance(v));
+				assertPathTo(forest, v);
+			}
+			for (int s : sources) {
+				assertEquals(0, forest.getDistance(s));
+				assertEquals(s, forest.getRoot(s));
+			}
+			assertEquals(reachable, forest.getNumReachable());
+		}
+	}
+}